@@ -0,0 +1,55 @@
+package numbers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getting a Number for a value: a new instance, a reset of a reused
+ * instance and a step of the digit odometer during a range scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NumberBenchmark {
+
+    @Param({"1234", "123456789012345678"})
+    private long value;
+
+    private Number number;
+
+    @Setup
+    public void setUp() {
+        this.number = new Number(this.value);
+    }
+
+    @Benchmark
+    public Number construct() {
+        return new Number(this.value);
+    }
+
+    @Benchmark
+    public Number reset() {
+        this.number.reset(this.value);
+        return this.number;
+    }
+
+    @Benchmark
+    public Number next() {
+        this.number.next();
+        return this.number;
+    }
+}
@@ -0,0 +1,50 @@
+package numbers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of testing one property of a small and of an 18-digit value,
+ * including the reset that clears the cached results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyBenchmark {
+
+    @Param({"EVEN", "ODD", "BUZZ", "DUCK", "PALINDROMIC", "GAPFUL",
+            "SPY", "SQUARE", "SUNNY", "JUMPING", "HAPPY", "SAD"})
+    private String propertyName;
+
+    @Param({"1234", "123456789012345678"})
+    private long value;
+
+    private Property property;
+    private Number number;
+
+    @Setup
+    public void setUp() {
+        this.property = Property.valueOf(this.propertyName);
+        this.number = new Number(this.value);
+    }
+
+    @Benchmark
+    public boolean test() {
+        this.number.reset(this.value);
+        return this.number.getPropertyValue(this.property);
+    }
+}
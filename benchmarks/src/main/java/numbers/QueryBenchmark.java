@@ -0,0 +1,78 @@
+package numbers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole requests as a user types them, from the parsed query to the formatted output,
+ * which is written to a stream that discards it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryBenchmark {
+
+    @Param({
+            // single-number reports
+            "7",
+            "123456789012345678",
+            // range listings
+            "1 1000",
+            "123456789012345678 1000",
+            // dense filter
+            "1 1000 even",
+            // sparse filter
+            "1 20 jumping palindromic",
+            "1000000000 5 jumping",
+            // exclusion-heavy filter
+            "1 1000 -sad -buzz",
+            "1 100 -even -duck -spy -square -sunny -jumping"
+    })
+    private String request;
+
+    private Query query;
+    private QueryRunner runner;
+    private OutputWriter out;
+
+    @Setup
+    public void setUp() {
+        // the scans would silently fall back to the scalar block evaluator
+        if (BlockEvaluator.create() instanceof ScalarBlockEvaluator) {
+            throw new IllegalStateException("The vector block evaluator isn't active, "
+                    + "run the benchmark with --add-modules jdk.incubator.vector");
+        }
+        this.query = QueryParser.parse(this.request);
+        if (this.query.getType() == Query.Type.INVALID || this.query.getType() == Query.Type.EXIT) {
+            throw new IllegalArgumentException("Not a benchmark request: " + this.request);
+        }
+        // a cache of no matches so that every run searches again
+        this.runner = new QueryRunner(new SearchEngine(), new ResultCache(0L));
+        this.out = new OutputWriter(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void run() {
+        this.runner.run(this.query, this.out);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.out.flush();
+    }
+}
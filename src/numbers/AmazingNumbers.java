@@ -0,0 +1,86 @@
+package numbers;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The search engine as a library, without the parsing and the printing of the
+ * console program. The searches return lazy streams, so a caller decides how
+ * many matches to compute with limit() or a short-circuiting operation, and can
+ * run them in parallel. The properties of a number are returned as a bitmask.
+ */
+public final class AmazingNumbers {
+
+    // reused per thread, so that properties() allocates nothing
+    private static final ThreadLocal<Number> NUMBERS = ThreadLocal.withInitial(() -> new Number(0L));
+
+    private AmazingNumbers() {
+    }
+
+    /**
+     * The values >= start that have all of the included properties and none of
+     * the excluded ones in ascending order. The stream is infinite as far as the
+     * longs go: when fewer matches exist than a limit asks for, it tests every
+     * remaining long.
+     *
+     * @throws IllegalArgumentException if start is negative or the properties are mutually exclusive
+     */
+    public static LongStream search(long start, Set<Property> include, Set<Property> exclude) {
+        return search(start, Long.MAX_VALUE, include, exclude);
+    }
+
+    /**
+     * Like search(start, include, exclude) but only the values in [start, stop).
+     */
+    public static LongStream search(long start, long stop, Set<Property> include, Set<Property> exclude) {
+        if (start < 0L) {
+            throw new IllegalArgumentException("The start should be a natural number or zero: " + start);
+        }
+        checkMutuallyExclusiveProperties(include, exclude);
+        PropertyFilter filter = QueryPlanner.plan(include, exclude);
+        return StreamSupport.longStream(new MatchSpliterator(filter, start, Math.max(start, stop)), false);
+    }
+
+    /**
+     * The properties of value as a bitmask: property.getMask() is set for every
+     * property it has. Mutually exclusive properties are settled in declaration
+     * order, as in the console program, so 0 is square but not sunny.
+     *
+     * @throws IllegalArgumentException if value is negative
+     */
+    public static int properties(long value) {
+        if (value < 0L) {
+            throw new IllegalArgumentException("The value should be a natural number or zero: " + value);
+        }
+        Number number = NUMBERS.get();
+        number.reset(value);
+        return number.getProperties();
+    }
+
+    public static boolean hasProperty(int properties, Property property) {
+        return (properties & property.getMask()) != 0;
+    }
+
+    // the same requests that the console program refuses, eg: even odd, -even -odd or even -even
+    private static void checkMutuallyExclusiveProperties(Set<Property> include, Set<Property> exclude) {
+        Set<Property> conflicts = EnumSet.noneOf(Property.class);
+        for (Property property : include) {
+            Property partner = property.getMutuallyExclusiveProperty();
+            // Set.of() sets throw on contains(null)
+            if (partner != null && include.contains(partner) || exclude.contains(property)) {
+                conflicts.add(property);
+            }
+        }
+        for (Property property : exclude) {
+            if (property.isComplete() && property.getMutuallyExclusiveProperty() != null
+                    && exclude.contains(property.getMutuallyExclusiveProperty())) {
+                conflicts.add(property);
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException("The properties are mutually exclusive: " + conflicts);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package numbers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Runs a file of requests without the banner and the prompts. A reader thread
+ * tokenizes and parses the next requests while the current ones are evaluated.
+ * Blank lines are skipped and 0 ends the batch like it ends a session.
+ */
+public class BatchProcessor {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    // marks the end of the input on the queue
+    private static final Query END_OF_INPUT = Query.exit();
+    private final BlockingQueue<Query> queries = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final QueryRunner runner;
+    private volatile IOException readFailure;
+
+    public BatchProcessor(QueryRunner runner) {
+        this.runner = runner;
+    }
+
+    public void process(BufferedReader in, OutputWriter out) throws IOException {
+        Thread reader = new Thread(() -> this.readQueries(in), "batch-reader");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            while (true) {
+                Query query = this.queries.take();
+                if (query.getType() == Query.Type.EXIT) {
+                    break;
+                }
+                this.runner.run(query, out);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            out.flush();
+        }
+        if (this.readFailure != null) {
+            throw this.readFailure;
+        }
+    }
+
+    private void readQueries(BufferedReader in) {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    this.queries.put(QueryParser.parse(line));
+                }
+            }
+        } catch (IOException e) {
+            this.readFailure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                this.queries.put(END_OF_INPUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package numbers;
+
+import java.util.function.Supplier;
+
+/**
+ * Tests the arithmetic properties EVEN, ODD, BUZZ and GAPFUL for a block of 64
+ * consecutive values at once, so that a scan only builds full Numbers for the
+ * values that survive them. A Vector API implementation is used when the
+ * jdk.incubator.vector module is present (--add-modules jdk.incubator.vector),
+ * otherwise a scalar one.
+ */
+public interface BlockEvaluator {
+
+    int BLOCK_SIZE = Long.SIZE;
+    int ARITHMETIC_MASK = Property.EVEN.getMask() | Property.ODD.getMask()
+            | Property.BUZZ.getMask() | Property.GAPFUL.getMask();
+    // blocks only pay off if the arithmetic tests reject most values
+    double MAX_PASS_RATE = 0.25;
+
+    /**
+     * Bit i is set if base + i has all of the included properties and none of the
+     * excluded ones. Only the arithmetic bits of the masks are looked at.
+     */
+    long evaluate(long base, int includedMask, int excludedMask);
+
+    static BlockEvaluator create() {
+        return Factory.INSTANCE.get();
+    }
+
+    // whether the arithmetic part of a filter is selective enough for blocks
+    static boolean isWorthwhile(int includedMask, int excludedMask) {
+        return passRate(includedMask, excludedMask) <= MAX_PASS_RATE;
+    }
+
+    // the estimated share of the values that survive a block
+    static double passRate(int includedMask, int excludedMask) {
+        double passRate = 1.0;
+        for (Property property : Property.values()) {
+            if ((property.getMask() & ARITHMETIC_MASK & includedMask) != 0) {
+                passRate *= property.getPassRate();
+            } else if ((property.getMask() & ARITHMETIC_MASK & excludedMask) != 0) {
+                passRate *= 1.0 - property.getPassRate();
+            }
+        }
+        return passRate;
+    }
+
+    // the leading digit of every value of the block or 0 if it changes inside the block or a value is below 100
+    static int blockLeadingDigit(long base) {
+        if (base < 100L || base > Long.MAX_VALUE - BLOCK_SIZE) {
+            return 0;
+        }
+        long last = base + BLOCK_SIZE - 1;
+        long power = 1L;
+        while (power <= base / 10L) {
+            power *= 10L;
+        }
+        // the same leading digit at the same length means the same leading digit for the whole block
+        int leadingDigit = (int) (base / power);
+        return last / power == leadingDigit && last / power < 10L ? leadingDigit : 0;
+    }
+
+    final class Factory {
+
+        private static final Supplier<BlockEvaluator> INSTANCE = findFactory();
+
+        private Factory() {
+        }
+
+        private static Supplier<BlockEvaluator> findFactory() {
+            try {
+                // fails with a LinkageError when the incubator module isn't added
+                Class<?> vectorClass = Class.forName("numbers.VectorBlockEvaluator");
+                BlockEvaluator probe = (BlockEvaluator) vectorClass.getDeclaredConstructor().newInstance();
+                probe.evaluate(1000L, Property.BUZZ.getMask() | Property.GAPFUL.getMask(), 0);
+                return VectorBlockEvaluator::new;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return ScalarBlockEvaluator::new;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package numbers;
+
+/**
+ * Lists the values >= a start value that have some property in ascending order,
+ * so that a search for a sparse property doesn't have to test every integer.
+ */
+public interface CandidateGenerator {
+
+    // returned by next() once there are no more candidates that fit in a long
+    long EXHAUSTED = -1L;
+
+    long next();
+
+    // a generator for the sparsest included property that has one or null if none applies
+    static CandidateGenerator forFilter(PropertyFilter filter, long start) {
+        // ordered from the sparsest property: a long holds about 28 thousand spy numbers and
+        // 2 million jumping numbers, and of the numbers with 2k or 2k + 1 digits about
+        // 0.7 * 10^k or 2.2 * 10^k are squares (or sunny) against 0.9 * 10^k or 9 * 10^k palindromes
+        if (filter.isIncluded(Property.SPY)) {
+            return new SpyGenerator(start);
+        } else if (filter.isIncluded(Property.JUMPING)) {
+            return new JumpingGenerator(start);
+        } else if (filter.isIncluded(Property.SQUARE)) {
+            return new SquareGenerator(start, 0L);
+        } else if (filter.isIncluded(Property.SUNNY)) {
+            return new SquareGenerator(start, 1L);
+        } else if (filter.isIncluded(Property.PALINDROMIC)) {
+            return new PalindromeGenerator(start);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * A generator that skips the values an included EVEN, ODD, BUZZ or GAPFUL
+     * term rejects, or null if none is included. These properties are dense, so
+     * the generator only thins out the values a chunk scans.
+     */
+    static CandidateGenerator forPeriodicProperties(PropertyFilter filter, long start) {
+        if (gapfulDensity(filter) < wheelDensity(filter)) {
+            return new GapfulGenerator(start, gapfulLastDigits(filter));
+        } else if (wheelDensity(filter) < 1.0) {
+            return new WheelGenerator(start, filter.getIncludedMask(), filter.getExcludedMask());
+        } else {
+            return null;
+        }
+    }
+
+    // the share of the values that forPeriodicProperties lists, 1 if it returns null
+    static double periodicDensity(PropertyFilter filter) {
+        return Math.min(gapfulDensity(filter), wheelDensity(filter));
+    }
+
+    private static double wheelDensity(PropertyFilter filter) {
+        return (filter.getIncludedMask() & WheelGenerator.WHEEL_MASK) == 0 ?
+                1.0 : WheelGenerator.density(filter.getIncludedMask(), filter.getExcludedMask());
+    }
+
+    private static double gapfulDensity(PropertyFilter filter) {
+        return filter.isIncluded(Property.GAPFUL) ?
+                Property.GAPFUL.getPassRate() * Integer.bitCount(gapfulLastDigits(filter)) / 10.0 : 1.0;
+    }
+
+    // the parity of a number is the parity of its last digit
+    private static int gapfulLastDigits(PropertyFilter filter) {
+        if (filter.isIncluded(Property.EVEN)) {
+            return GapfulGenerator.EVEN_LAST_DIGITS;
+        } else if (filter.isIncluded(Property.ODD)) {
+            return GapfulGenerator.ODD_LAST_DIGITS;
+        } else {
+            return GapfulGenerator.ALL_LAST_DIGITS;
+        }
+    }
+}
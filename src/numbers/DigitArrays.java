@@ -0,0 +1,48 @@
+package numbers;
+
+/**
+ * Helpers for generators that build numbers digit by digit.
+ * The digit arrays are most significant digit first.
+ */
+public final class DigitArrays {
+
+    // the digits of Long.MAX_VALUE, the only 19-digit bound that needs checking
+    private static final int[] MAX_VALUE_DIGITS = toDigits(Long.MAX_VALUE);
+
+    private DigitArrays() {
+    }
+
+    public static int[] toDigits(long value) {
+        int length = 1;
+        for (long rest = value / 10L; rest > 0L; rest /= 10L) {
+            ++length;
+        }
+        int[] digits = new int[length];
+        for (int ind = length - 1; ind >= 0; --ind) {
+            digits[ind] = (int) (value % 10L);
+            value /= 10L;
+        }
+        return digits;
+    }
+
+    public static boolean fitsInLong(int[] digits) {
+        if (digits.length != MAX_VALUE_DIGITS.length) {
+            return digits.length < MAX_VALUE_DIGITS.length;
+        }
+        for (int ind = 0; ind < digits.length; ++ind) {
+            if (digits[ind] != MAX_VALUE_DIGITS[ind]) {
+                return digits[ind] < MAX_VALUE_DIGITS[ind];
+            }
+        }
+        return true;
+    }
+
+    // only call this for digits that fit in a long
+    public static long toValue(int[] digits) {
+        long value = 0L;
+        for (int digit : digits) {
+            value = value * 10L + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,143 @@
+package numbers;
+
+public class DigitOdometer {
+
+    // a long has at most 19 decimal digits
+    private static final int MAX_LENGTH = 19;
+    // least significant digit first
+    private final int[] digits = new int[MAX_LENGTH];
+    private int length;
+    private long value;
+    private int digitSum;
+    private int digitSquareSum;
+    // product of the digits that aren't 0 so that it can be updated by division
+    private long nonZeroDigitProduct;
+    private int zeroCount;
+    // adjacent digits whose difference isn't 1
+    private int nonJumpingPairs;
+    // digits that differ from the digit at the mirrored position
+    private int mismatchedPairs;
+
+    public void set(long value) {
+        this.value = value;
+        this.length = 0;
+        do {
+            this.digits[this.length++] = (int) (value % 10L);
+            value /= 10L;
+        } while (value > 0L);
+        this.digitSum = 0;
+        this.digitSquareSum = 0;
+        this.nonZeroDigitProduct = 1L;
+        this.zeroCount = 0;
+        this.nonJumpingPairs = 0;
+        this.mismatchedPairs = 0;
+        for (int ind = 0; ind < this.length; ++ind) {
+            int digit = this.digits[ind];
+            this.digitSum += digit;
+            this.digitSquareSum += digit * digit;
+            if (digit == 0) {
+                ++this.zeroCount;
+            } else {
+                this.nonZeroDigitProduct *= digit;
+            }
+            if (ind > 0 && Math.abs(digit - this.digits[ind - 1]) != 1) {
+                ++this.nonJumpingPairs;
+            }
+            if (digit != this.digits[this.length - 1 - ind]) {
+                ++this.mismatchedPairs;
+            }
+        }
+    }
+
+    /**
+     * Moves to the next value like an odometer: the trailing 9s roll over to 0
+     * and the digit before them goes up by one, so only the digits that change
+     * are touched and a step costs O(1) amortized.
+     */
+    public void increment() {
+        ++this.value;
+        int pos = 0;
+        while (pos < this.length && this.digits[pos] == 9) {
+            this.setDigit(pos++, 0);
+        }
+        if (pos == this.length) {
+            // one more digit, eg: 999 -> 1000, everything is mirrored differently now
+            this.set(this.value);
+        } else {
+            this.setDigit(pos, this.digits[pos] + 1);
+        }
+    }
+
+    private void setDigit(int pos, int newDigit) {
+        int oldDigit = this.digits[pos];
+        this.digitSum += newDigit - oldDigit;
+        this.digitSquareSum += newDigit * newDigit - oldDigit * oldDigit;
+        if (oldDigit == 0) {
+            --this.zeroCount;
+        } else {
+            this.nonZeroDigitProduct /= oldDigit;
+        }
+        if (newDigit == 0) {
+            ++this.zeroCount;
+        } else {
+            this.nonZeroDigitProduct *= newDigit;
+        }
+        if (pos > 0) {
+            this.nonJumpingPairs += nonJumping(newDigit, this.digits[pos - 1]) - nonJumping(oldDigit, this.digits[pos - 1]);
+        }
+        if (pos < this.length - 1) {
+            this.nonJumpingPairs += nonJumping(newDigit, this.digits[pos + 1]) - nonJumping(oldDigit, this.digits[pos + 1]);
+        }
+        int mirroredPos = this.length - 1 - pos;
+        if (mirroredPos != pos) {
+            int mirroredDigit = this.digits[mirroredPos];
+            // the pair is counted from both of its ends
+            this.mismatchedPairs += 2 * ((newDigit != mirroredDigit ? 1 : 0) - (oldDigit != mirroredDigit ? 1 : 0));
+        }
+        this.digits[pos] = newDigit;
+    }
+
+    private static int nonJumping(int digit, int otherDigit) {
+        return Math.abs(digit - otherDigit) != 1 ? 1 : 0;
+    }
+
+    public long getValue() {
+        return this.value;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+
+    public int getFirstDigit() {
+        return this.digits[this.length - 1];
+    }
+
+    public int getLastDigit() {
+        return this.digits[0];
+    }
+
+    public int getDigitSum() {
+        return this.digitSum;
+    }
+
+    public int getDigitSquareSum() {
+        return this.digitSquareSum;
+    }
+
+    public long getDigitProduct() {
+        return this.zeroCount > 0 ? 0L : this.nonZeroDigitProduct;
+    }
+
+    public int getZeroCount() {
+        return this.zeroCount;
+    }
+
+    public boolean isJumping() {
+        return this.nonJumpingPairs == 0;
+    }
+
+    public boolean isPalindromic() {
+        return this.mismatchedPairs == 0;
+    }
+}
@@ -0,0 +1,86 @@
+package numbers;
+
+/**
+ * Lists the gapful numbers >= start. Within a block of values with the same
+ * length and leading digit f, the gapful numbers ending in d are the multiples
+ * of 10 * f + d that end in d, an arithmetic progression whose step is the
+ * least common multiple of 10 * f + d and 10. The generator merges the
+ * progressions of the allowed last digits and moves on block by block.
+ */
+public class GapfulGenerator implements CandidateGenerator {
+
+    // bit d is set if numbers ending in d are listed
+    static final int ALL_LAST_DIGITS = (1 << 10) - 1;
+    static final int EVEN_LAST_DIGITS = 0b0101010101;
+    static final int ODD_LAST_DIGITS = 0b1010101010;
+    private final int lastDigits;
+    // the next value and the step of the progression of each last digit, Long.MAX_VALUE once it left the block
+    private final long[] nexts = new long[10];
+    private final long[] steps = new long[10];
+    private long blockEnd;
+    private long power;
+
+    public GapfulGenerator(long start, int lastDigits) {
+        this.lastDigits = lastDigits;
+        // no value below 100 is gapful
+        long value = Math.max(start, 100L);
+        this.power = 100L;
+        while (this.power <= value / 10L) {
+            this.power *= 10L;
+        }
+        this.enterBlock(value);
+    }
+
+    // starts the progressions of the block that holds value, with power the unit of its leading digit
+    private void enterBlock(long value) {
+        long leadingDigit = value / this.power;
+        this.blockEnd = leadingDigit == 9L && this.power > Long.MAX_VALUE / 10L ?
+                Long.MAX_VALUE : (leadingDigit + 1L) * this.power;
+        for (int lastDigit = 0; lastDigit < 10; ++lastDigit) {
+            this.nexts[lastDigit] = Long.MAX_VALUE;
+            if ((this.lastDigits & 1 << lastDigit) == 0) {
+                continue;
+            }
+            long divisor = leadingDigit * 10L + lastDigit;
+            this.steps[lastDigit] = divisor / gcd(divisor, 10L) * 10L;
+            // the multiples of the divisor repeat their last digits every 10 multiples, a negative one overflowed
+            long multiple = value % divisor == 0L ? value : value + (divisor - value % divisor);
+            for (int ind = 0; ind < 10 && multiple < this.blockEnd && multiple >= 0L; ++ind, multiple += divisor) {
+                if (multiple % 10L == lastDigit) {
+                    this.nexts[lastDigit] = multiple;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0L ? a : gcd(b, a % b);
+    }
+
+    @Override
+    public long next() {
+        while (true) {
+            int smallest = 0;
+            for (int lastDigit = 1; lastDigit < 10; ++lastDigit) {
+                if (this.nexts[lastDigit] < this.nexts[smallest]) {
+                    smallest = lastDigit;
+                }
+            }
+            long value = this.nexts[smallest];
+            if (value < this.blockEnd) {
+                long step = this.steps[smallest];
+                this.nexts[smallest] = value > this.blockEnd - step ? Long.MAX_VALUE : value + step;
+                return value;
+            }
+            if (this.blockEnd == Long.MAX_VALUE) {
+                return EXHAUSTED;
+            }
+            // the next leading digit, or the next length after 9
+            if (this.blockEnd / this.power == 10L) {
+                this.power *= 10L;
+            }
+            this.enterBlock(this.blockEnd);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package numbers;
+
+/**
+ * Lists the jumping numbers, where adjacent digits differ by 1. Each call finds
+ * the smallest jumping number above the previous one by walking the digit path
+ * of that bound instead of testing the integers in between.
+ */
+public class JumpingGenerator implements CandidateGenerator {
+
+    private long nextLowerBound;
+
+    public JumpingGenerator(long start) {
+        this.nextLowerBound = Math.max(start, 0L);
+    }
+
+    @Override
+    public long next() {
+        if (this.nextLowerBound < 0L) {
+            return EXHAUSTED;
+        }
+        int[] digits = smallestJumpingAtLeast(DigitArrays.toDigits(this.nextLowerBound));
+        if (!DigitArrays.fitsInLong(digits)) {
+            this.nextLowerBound = -1L;
+            return EXHAUSTED;
+        }
+        long value = DigitArrays.toValue(digits);
+        // -1 once value is Long.MAX_VALUE, which ends the generator
+        this.nextLowerBound = value + 1L < 0L ? -1L : value + 1L;
+        return value;
+    }
+
+    private static int[] smallestJumpingAtLeast(int[] bound) {
+        int length = bound.length;
+        // the longest prefix of the bound that is itself a jumping path
+        int jumpingPrefix = 1;
+        while (jumpingPrefix < length && Math.abs(bound[jumpingPrefix] - bound[jumpingPrefix - 1]) == 1) {
+            ++jumpingPrefix;
+        }
+        if (jumpingPrefix == length) {
+            return bound;
+        }
+        // keep as much of the bound as possible and go above it at the last possible position
+        for (int pos = jumpingPrefix; pos >= 0; --pos) {
+            int digit = smallestStepAbove(pos == 0 ? -1 : bound[pos - 1], bound[pos], pos == 0);
+            if (digit != -1) {
+                int[] result = new int[length];
+                System.arraycopy(bound, 0, result, 0, pos);
+                result[pos] = digit;
+                fillSmallest(result, pos + 1);
+                return result;
+            }
+        }
+        // no jumping number has as many digits as the bound, the next one is 1010...
+        int[] result = new int[length + 1];
+        result[0] = 1;
+        fillSmallest(result, 1);
+        return result;
+    }
+
+    // the smallest digit > current that may follow previous (-1 for the leading digit) or -1
+    private static int smallestStepAbove(int previous, int current, boolean isLeading) {
+        if (isLeading) {
+            return current < 9 ? current + 1 : -1;
+        }
+        if (previous - 1 > current) {
+            return previous - 1;
+        }
+        if (previous + 1 > current && previous + 1 <= 9) {
+            return previous + 1;
+        }
+        return -1;
+    }
+
+    // completes the digits from pos with the smallest jumping continuation
+    private static void fillSmallest(int[] digits, int pos) {
+        for (int ind = pos; ind < digits.length; ++ind) {
+            digits[ind] = digits[ind - 1] == 0 ? 1 : digits[ind - 1] - 1;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package numbers;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+
+public class Main {
+
+    // at most 8 MiB of cached matches
+    private static final long MAX_CACHED_MATCHES = 1L << 20;
+    static final String HELLO_STRING = new StringBuilder("Welcome to Amazing Numbers!\n")
+            .append("Supported requests:\n")
+            .append("- enter a natural number to know its properties;\n")
+            .append("- enter two natural numbers to obtain the properties of the list:\n")
+            .append("  * the first parameter represents a starting number;\n")
+            .append("  * the second parameter shows how many consecutive numbers are to be processed;\n")
+            .append("- two natural numbers and properties to search for;\n")
+            .append("- a property preceded by minus must not be present in numbers;")
+            .append("- separate the parameters with one space;\n")
+            .append("- enter count or histogram before two natural numbers and properties to count the matches;\n")
+            .append("- enter stats on or stats off to show where the time of each request goes;\n")
+            .append("- enter 0 to exit.\n")
+            .toString();
+    // a server request that runs longer is stopped
+    private static final long DEFAULT_TIME_LIMIT_MILLIS = 10_000L;
+    // the longest limit whose nanoseconds fit in a long
+    private static final long MAX_TIME_LIMIT_MILLIS = Long.MAX_VALUE / 1_000_000L;
+    private static final long MAX_PORT = 65_535L;
+    private static final String USAGE = "Usage: Main [--index FILE] [--batch [--input FILE] [--output FILE]]\n"
+            + "       Main [--index FILE] --server PORT [--time-limit MILLIS]\n"
+            + "       Main --build-index FILE START END";
+
+    public static void main(String[] args) throws IOException {
+        boolean isBatch = false;
+        String inputPath = null;
+        String outputPath = null;
+        String indexPath = null;
+        int serverPort = -1;
+        long timeLimitMillis = DEFAULT_TIME_LIMIT_MILLIS;
+        for (int ind = 0; ind < args.length; ++ind) {
+            if ("--batch".equals(args[ind])) {
+                isBatch = true;
+            } else if ("--input".equals(args[ind]) && ind + 1 < args.length) {
+                inputPath = args[++ind];
+            } else if ("--output".equals(args[ind]) && ind + 1 < args.length) {
+                outputPath = args[++ind];
+            } else if ("--index".equals(args[ind]) && ind + 1 < args.length) {
+                indexPath = args[++ind];
+            } else if ("--server".equals(args[ind]) && ind + 1 < args.length) {
+                serverPort = (int) parseWholeNumber(args[++ind], MAX_PORT);
+                if (serverPort == -1) {
+                    exitWithUsage();
+                }
+            } else if ("--time-limit".equals(args[ind]) && ind + 1 < args.length) {
+                timeLimitMillis = parseWholeNumber(args[++ind], MAX_TIME_LIMIT_MILLIS);
+                if (timeLimitMillis <= 0L) {
+                    exitWithUsage();
+                }
+            } else if ("--build-index".equals(args[ind]) && ind + 3 < args.length && args.length == 4) {
+                buildIndex(args[ind + 1], args[ind + 2], args[ind + 3]);
+                return;
+            } else {
+                exitWithUsage();
+            }
+        }
+
+        final PropertyIndex index = indexPath == null ? null : PropertyIndex.open(Path.of(indexPath));
+        final SearchEngine searchEngine = new SearchEngine(index);
+        final ResultCache resultCache = new ResultCache(MAX_CACHED_MATCHES);
+        if (serverPort != -1) {
+            new QueryServer(serverPort, timeLimitMillis, searchEngine, resultCache).serve();
+            return;
+        }
+        final QueryRunner runner = new QueryRunner(searchEngine, resultCache);
+        if (isBatch) {
+            // a batch reads stdin and writes stdout unless files are given
+            InputStream in = inputPath == null ? System.in : new FileInputStream(inputPath);
+            OutputStream outStream = outputPath == null ? System.out : new FileOutputStream(outputPath);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in), 1 << 16)) {
+                new BatchProcessor(runner).process(reader, new OutputWriter(outStream));
+            } finally {
+                if (outStream != System.out) {
+                    outStream.close();
+                }
+            }
+        } else {
+            runInteractive(runner);
+        }
+    }
+
+    private static void exitWithUsage() {
+        System.err.println(USAGE);
+        System.exit(1);
+    }
+
+    // the value of a whole number up to max, or -1 if the string is not one
+    private static long parseWholeNumber(String numStr, long max) {
+        if (!Number.isWholeNumber(numStr)) {
+            return -1L;
+        }
+        try {
+            long value = Long.parseLong(numStr);
+            return value <= max ? value : -1L;
+        } catch (NumberFormatException e) {
+            // more digits than a long holds
+            return -1L;
+        }
+    }
+
+    private static void buildIndex(String path, String startStr, String endStr) throws IOException {
+        long start = parseWholeNumber(startStr, Long.MAX_VALUE - Long.SIZE);
+        long end = parseWholeNumber(endStr, Long.MAX_VALUE - Long.SIZE);
+        if (start == -1L || end == -1L || start >= end) {
+            System.err.println("The index range should be two whole numbers START < END.");
+            System.exit(1);
+        }
+        long startNanos = System.nanoTime();
+        PropertyIndex index = PropertyIndex.build(Path.of(path), start, end, ForkJoinPool.commonPool());
+        System.out.printf("Indexed [%d, %d) into %s in %.1f s%n", index.getStart(), index.getEnd(),
+                path, (System.nanoTime() - startNanos) / 1e9);
+    }
+
+    private static void runInteractive(QueryRunner runner) {
+        final Scanner scanner = new Scanner(System.in);
+
+        // everything is written through one buffer that is flushed before waiting for input
+        final OutputWriter out = new OutputWriter(System.out);
+        out.println(HELLO_STRING);
+
+        while (true) {
+            out.println("Enter a request:");
+            out.flush();
+            Query query = QueryParser.parse(scanner.nextLine());
+            if (query.getType() == Query.Type.EXIT) {
+                out.println("Goodbye!");
+                out.flush();
+                scanner.close();
+                break;
+            }
+            runner.run(query, out);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package numbers;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Traverses the values in [start, stop) that match a filter, testing them only
+ * as they are requested. A split hands off a prefix whose length grows by a
+ * batch unit with every split, so a parallel stream that is limited or
+ * short-circuited only tests a bounded distance past the matches it needs, while
+ * a long traversal still gets large batches. Without a candidate generator the
+ * prefix is a range of values; with one it is an array of the next candidates,
+ * since the candidates of a sparse property are spread over a huge range.
+ */
+class MatchSpliterator implements Spliterator.OfLong {
+
+    private static final long RANGE_BATCH_UNIT = 1L << 12;
+    private static final long MAX_RANGE_BATCH = 1L << 25;
+    private static final int CANDIDATE_BATCH_UNIT = 1 << 10;
+    private static final int MAX_CANDIDATE_BATCH = 1 << 20;
+    private final PropertyFilter filter;
+    // the candidates of a split off prefix or null, then next and stop are indexes into it
+    private final long[] candidates;
+    private final CandidateGenerator generator;
+    private final long stop;
+    private long next;
+    private long batch;
+    // created on the first tryAdvance, so the prefixes that are split off cost nothing until used
+    private Number number;
+    private PropertyFilter.Evaluator evaluator;
+    private long tested;
+
+    MatchSpliterator(PropertyFilter filter, long start, long stop) {
+        this.filter = filter;
+        this.candidates = null;
+        this.generator = CandidateGenerator.forFilter(filter, start);
+        this.next = start;
+        this.stop = stop;
+    }
+
+    private MatchSpliterator(PropertyFilter filter, long[] candidates, long next, long stop) {
+        this.filter = filter;
+        this.candidates = candidates;
+        this.generator = null;
+        this.next = next;
+        this.stop = stop;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        for (long value = this.nextCandidate(); value != CandidateGenerator.EXHAUSTED; value = this.nextCandidate()) {
+            if (this.evaluator == null) {
+                this.evaluator = this.filter.newEvaluator();
+                this.number = new Number(value);
+            } else if (value == this.number.getValue() + 1L) {
+                // consecutive values step the digit odometer
+                this.number.next();
+            } else {
+                this.number.reset(value);
+            }
+            if ((++this.tested & 0xFFFL) == 0L) {
+                this.evaluator.report();
+            }
+            if (this.evaluator.test(this.number)) {
+                action.accept(value);
+                return true;
+            }
+        }
+        if (this.evaluator != null) {
+            this.evaluator.report();
+        }
+        return false;
+    }
+
+    private long nextCandidate() {
+        if (this.next >= this.stop) {
+            return CandidateGenerator.EXHAUSTED;
+        } else if (this.candidates != null) {
+            return this.candidates[(int) this.next++];
+        } else if (this.generator != null) {
+            long candidate = this.generator.next();
+            if (candidate == CandidateGenerator.EXHAUSTED || candidate >= this.stop) {
+                this.next = this.stop;
+                return CandidateGenerator.EXHAUSTED;
+            }
+            this.next = candidate + 1L;
+            return candidate;
+        } else {
+            return this.next++;
+        }
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        if (this.candidates != null) {
+            // the batch of a prefix is split in halves
+            long half = (this.stop - this.next) / 2L;
+            if (half == 0L) {
+                return null;
+            }
+            MatchSpliterator prefix = new MatchSpliterator(this.filter, this.candidates, this.next, this.next + half);
+            this.next += half;
+            return prefix;
+        } else if (this.generator != null) {
+            this.batch = Math.min(this.batch + CANDIDATE_BATCH_UNIT, MAX_CANDIDATE_BATCH);
+            long[] prefix = new long[(int) this.batch];
+            int size = 0;
+            for (long candidate = this.nextCandidate(); candidate != CandidateGenerator.EXHAUSTED;
+                 candidate = this.nextCandidate()) {
+                prefix[size++] = candidate;
+                if (size == prefix.length) {
+                    break;
+                }
+            }
+            return size == 0 ? null : new MatchSpliterator(this.filter, prefix, 0L, size);
+        } else {
+            long remaining = this.stop - this.next;
+            if (remaining <= RANGE_BATCH_UNIT) {
+                return null;
+            }
+            this.batch = Math.min(this.batch + RANGE_BATCH_UNIT, MAX_RANGE_BATCH);
+            long prefixStop = this.next + Math.min(this.batch, remaining / 2L);
+            MatchSpliterator prefix = new MatchSpliterator(this.filter, null, this.next, prefixStop);
+            this.next = prefixStop;
+            return prefix;
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        // an upper bound, the matches aren't known before the candidates are tested
+        return this.stop - this.next;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | SORTED | NONNULL | IMMUTABLE;
+    }
+
+    @Override
+    public Comparator<? super Long> getComparator() {
+        // sorted in natural order
+        return null;
+    }
+}
@@ -0,0 +1,139 @@
+package numbers;
+
+public class Number {
+
+    // the largest root whose square fits in a long
+    static final long MAX_ROOT = 3_037_000_499L;
+    private long value;
+    private final DigitOdometer digits = new DigitOdometer();
+    // bit i holds the value of the property with ordinal i
+    private int propertyValues;
+    // bit i is set once the property with ordinal i has been calculated
+    private int alreadyCalculated;
+    // where the evaluations and cache hits are recorded, or null
+    private final QueryStats stats;
+
+    public Number(long value) {
+        this(value, null);
+    }
+
+    public Number(long value, QueryStats stats) {
+        this.stats = stats;
+        this.reset(value);
+    }
+
+    /**
+     * Reuses this instance for another value so that scans over a range
+     * don't allocate a new Number per candidate.
+     */
+    public void reset(long value) {
+        this.value = value;
+        this.digits.set(value);
+        this.clearProperties();
+    }
+
+    /**
+     * Moves this instance to value + 1. The digits are updated incrementally,
+     * which is cheaper than a reset when walking a range.
+     */
+    public void next() {
+        ++this.value;
+        this.digits.increment();
+        this.clearProperties();
+    }
+
+    private void clearProperties() {
+        this.propertyValues = 0;
+        this.alreadyCalculated = 0;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public DigitOdometer getDigits() {
+        return digits;
+    }
+
+    public boolean getPropertyValue(Property property) {
+        int mask = property.getMask();
+        if ((this.alreadyCalculated & mask) != 0) {
+            if (this.stats != null) {
+                this.stats.recordCacheHit(property);
+            }
+            return (this.propertyValues & mask) != 0;
+        } else {
+            boolean result;
+            if (this.stats != null) {
+                long startNanos = System.nanoTime();
+                result = property.getTest().test(this);
+                this.stats.recordEvaluation(property, System.nanoTime() - startNanos);
+            } else {
+                result = property.getTest().test(this);
+            }
+            this.alreadyCalculated |= mask;
+            if (result) {
+                this.propertyValues |= mask;
+                // a true result also settles the mutually exclusive property as false
+                this.alreadyCalculated |= property.getMutuallyExclusiveMask();
+            }
+            return result;
+        }
+    }
+
+    // the properties of the number as a bitmask of Property.getMask() bits
+    public int getProperties() {
+        for (Property property : Property.values()) {
+            this.getPropertyValue(property);
+        }
+        return this.propertyValues;
+    }
+
+    public void displayNumberAsSingleton(OutputWriter out) {
+        out.writeSingleton(this);
+    }
+
+    public void displayNumberAsMember(OutputWriter out) {
+        out.writeMember(this);
+    }
+
+    // floor of the square root of a non-negative value
+    public static long isqrt(long value) {
+        long root = (long) Math.sqrt((double) value);
+        // the double estimate can be off by one either way for values above 2^52
+        while (root * root > value) {
+            --root;
+        }
+        while (root < MAX_ROOT && (root + 1L) * (root + 1L) <= value) {
+            ++root;
+        }
+        return root;
+    }
+
+    public static boolean isSquare(long value) {
+        if (value < 0L) {
+            return false;
+        }
+        long root = isqrt(value);
+        return root * root == value;
+    }
+
+    // an optional '+' followed by digits
+    public static boolean isWholeNumber(String numStr) {
+        int firstDigit = numStr.startsWith("+") ? 1 : 0;
+        if (numStr.length() == firstDigit) {
+            return false;
+        }
+        for (int ind = firstDigit; ind < numStr.length(); ++ind) {
+            if (numStr.charAt(ind) < '0' || numStr.charAt(ind) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // a whole number without leading zeros that isn't 0
+    public static boolean isNaturalNumber(String numStr) {
+        return isWholeNumber(numStr) && numStr.charAt(numStr.startsWith("+") ? 1 : 0) != '0';
+    }
+}
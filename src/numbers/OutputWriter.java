@@ -0,0 +1,169 @@
+package numbers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+
+/**
+ * Collects the output in a large reusable byte buffer and writes it in blocks.
+ * Numbers are grouped by hand with the separator and grouping size of the
+ * default locale, so the bytes are the same as with NumberFormat.getIntegerInstance().
+ */
+public class OutputWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    // a long has at most 19 digits
+    private static final int MAX_DIGITS = 19;
+    private static final Charset CHARSET = Charset.defaultCharset();
+    private static final byte[][] DIGITS = new byte[10][];
+    private static final byte[] GROUPING_SEPARATOR;
+    private static final int GROUPING_SIZE;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(CHARSET);
+    private static final byte[][] PROPERTY_NAMES = new byte[Property.values().length][];
+    private static final byte[] IS = " is ".getBytes(CHARSET);
+    private static final byte[] LIST_SEPARATOR = ", ".getBytes(CHARSET);
+    private static final byte[] PROPERTIES_OF = "Properties of ".getBytes(CHARSET);
+    private static final byte[] NAME_SEPARATOR = ": ".getBytes(CHARSET);
+    private static final byte[] TRUE = "true".getBytes(CHARSET);
+    private static final byte[] FALSE = "false".getBytes(CHARSET);
+    private static final byte[] NEW_LINE = "\n".getBytes(CHARSET);
+    private static final byte[] COUNTS_OF = "Counts of ".getBytes(CHARSET);
+    private static final byte[] NUMBERS_FROM = " numbers from ".getBytes(CHARSET);
+    private static final byte[] COLON = ":".getBytes(CHARSET);
+    private static final byte[] MATCHES = "matches: ".getBytes(CHARSET);
+    private static final byte[] COUNTED_IN = "Counted in ".getBytes(CHARSET);
+    private static final byte[] MILLISECONDS_AT = " ms at ".getBytes(CHARSET);
+    private static final byte[] NUMBERS_PER_SECOND = " numbers per second.".getBytes(CHARSET);
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final int[] digitScratch = new int[MAX_DIGITS];
+    private int size;
+
+    static {
+        // NOTE: use a grouping size of 0 if the grouping doesn't pass the Hyperskill tests!
+        NumberFormat numberFormat = NumberFormat.getIntegerInstance();
+        DecimalFormatSymbols symbols = numberFormat instanceof DecimalFormat ?
+                ((DecimalFormat) numberFormat).getDecimalFormatSymbols() : DecimalFormatSymbols.getInstance();
+        boolean isGrouping = numberFormat.isGroupingUsed() && numberFormat instanceof DecimalFormat;
+        GROUPING_SIZE = isGrouping ? ((DecimalFormat) numberFormat).getGroupingSize() : 0;
+        GROUPING_SEPARATOR = String.valueOf(symbols.getGroupingSeparator()).getBytes(CHARSET);
+        for (int digit = 0; digit < 10; ++digit) {
+            DIGITS[digit] = String.valueOf((char) (symbols.getZeroDigit() + digit)).getBytes(CHARSET);
+        }
+        for (Property property : Property.values()) {
+            PROPERTY_NAMES[property.ordinal()] = property.getNameInLowerCase().getBytes(CHARSET);
+        }
+    }
+
+    public OutputWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    // eg: 1,010,101,010 is even, duck, gapful, jumping, sad
+    public void writeMember(Number number) {
+        this.writeGrouped(number.getValue());
+        this.write(IS);
+        boolean isFirst = true;
+        for (Property property : Property.values()) {
+            if (number.getPropertyValue(property)) {
+                if (!isFirst) {
+                    this.write(LIST_SEPARATOR);
+                }
+                this.write(PROPERTY_NAMES[property.ordinal()]);
+                isFirst = false;
+            }
+        }
+        this.write(LINE_SEPARATOR);
+    }
+
+    // a "Properties of" header, a "name: value" line per property and an empty line
+    public void writeSingleton(Number number) {
+        this.write(PROPERTIES_OF);
+        this.writeGrouped(number.getValue());
+        this.write(NEW_LINE);
+        for (Property property : Property.values()) {
+            this.write(PROPERTY_NAMES[property.ordinal()]);
+            this.write(NAME_SEPARATOR);
+            this.write(number.getPropertyValue(property) ? TRUE : FALSE);
+            this.write(NEW_LINE);
+        }
+        this.write(LINE_SEPARATOR);
+    }
+
+    // a "Counts of" header, the matches, for a histogram a "name: count" line per property, and the throughput
+    public void writeCounts(RangeCounts counts, long start, boolean isHistogram, long elapsedNanos) {
+        this.write(COUNTS_OF);
+        this.writeGrouped(counts.getCounted());
+        this.write(NUMBERS_FROM);
+        this.writeGrouped(start);
+        this.write(COLON);
+        this.write(LINE_SEPARATOR);
+        this.write(MATCHES);
+        this.writeGrouped(counts.getMatches());
+        this.write(LINE_SEPARATOR);
+        if (isHistogram) {
+            for (Property property : Property.values()) {
+                this.write(PROPERTY_NAMES[property.ordinal()]);
+                this.write(NAME_SEPARATOR);
+                this.writeGrouped(counts.getPropertyCount(property));
+                this.write(LINE_SEPARATOR);
+            }
+        }
+        this.write(COUNTED_IN);
+        this.writeGrouped(elapsedNanos / 1_000_000L);
+        this.write(MILLISECONDS_AT);
+        this.writeGrouped((long) (counts.getCounted() * 1e9 / Math.max(elapsedNanos, 1L)));
+        this.write(NUMBERS_PER_SECOND);
+        this.write(LINE_SEPARATOR);
+    }
+
+    public void println(String line) {
+        this.write(line.getBytes(CHARSET));
+        this.write(LINE_SEPARATOR);
+    }
+
+    // the values are never negative, so there is no sign to write
+    public void writeGrouped(long value) {
+        int length = 0;
+        do {
+            this.digitScratch[length++] = (int) (value % 10L);
+            value /= 10L;
+        } while (value > 0L);
+        for (int ind = length - 1; ind >= 0; --ind) {
+            this.write(DIGITS[this.digitScratch[ind]]);
+            if (GROUPING_SIZE > 0 && ind > 0 && ind % GROUPING_SIZE == 0) {
+                this.write(GROUPING_SEPARATOR);
+            }
+        }
+    }
+
+    private void write(byte[] bytes) {
+        if (this.size + bytes.length > this.buffer.length) {
+            this.writeBuffer();
+        }
+        System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+        this.size += bytes.length;
+    }
+
+    private void writeBuffer() {
+        try {
+            this.out.write(this.buffer, 0, this.size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.size = 0;
+    }
+
+    public void flush() {
+        this.writeBuffer();
+        try {
+            this.out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package numbers;
+
+/**
+ * Lists the palindromes by counting up the first half of the digits
+ * and mirroring it onto the second half.
+ */
+public class PalindromeGenerator implements CandidateGenerator {
+
+    private int length;
+    // the first (length + 1) / 2 digits
+    private long half;
+    private long halfLimit;
+    private boolean isExhausted;
+
+    public PalindromeGenerator(long start) {
+        start = Math.max(start, 0L);
+        this.length = DigitArrays.toDigits(start).length;
+        this.half = start / pow10(this.length / 2);
+        this.halfLimit = pow10((this.length + 1) / 2);
+        if (this.mirror() < start) {
+            this.advance();
+        }
+    }
+
+    @Override
+    public long next() {
+        if (this.isExhausted) {
+            return EXHAUSTED;
+        }
+        long palindrome = this.mirror();
+        this.advance();
+        return palindrome;
+    }
+
+    private void advance() {
+        ++this.half;
+        if (this.half == this.halfLimit) {
+            // eg: 99 -> 101, 999 -> 1001
+            ++this.length;
+            this.half = pow10((this.length + 1) / 2 - 1);
+            this.halfLimit = pow10((this.length + 1) / 2);
+        }
+        if (this.mirror() < 0L) {
+            this.isExhausted = true;
+        }
+    }
+
+    // the palindrome of the current half or -1 if it doesn't fit in a long
+    private long mirror() {
+        if (this.length > 19) {
+            return -1L;
+        }
+        long palindrome = this.half;
+        for (long rest = this.length % 2 == 0 ? this.half : this.half / 10L; rest > 0L; rest /= 10L) {
+            if (palindrome > (Long.MAX_VALUE - rest % 10L) / 10L) {
+                return -1L;
+            }
+            palindrome = palindrome * 10L + rest % 10L;
+        }
+        return palindrome;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1L;
+        for (int ind = 0; ind < exponent; ++ind) {
+            result *= 10L;
+        }
+        return result;
+    }
+}
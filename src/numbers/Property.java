@@ -0,0 +1,139 @@
+package numbers;
+
+import java.util.function.Predicate;
+
+public enum Property {
+    EVEN(true, 1, 0.5, number -> number.getValue() % 2 == 0),
+    ODD(true, 1, 0.5, number -> !EVEN.getTest().test(number)),
+    BUZZ(false, 2, 0.23, number -> number.getDigits().getLastDigit() == 7 || number.getValue() % 7L == 0L),
+    DUCK(false, 1, 0.6, number -> number.getDigits().getZeroCount() > 0),
+    PALINDROMIC(false, 1, 0.001, number -> number.getDigits().isPalindromic()),
+    GAPFUL(false, 3, 0.1, number -> {
+        DigitOdometer digits = number.getDigits();
+        if (digits.getLength() < 3) {
+            return false;
+        } else {
+            long divisor = digits.getFirstDigit() * 10L + digits.getLastDigit();
+            return number.getValue() % divisor == 0L;
+        }
+    }),
+    // a zero digit makes the product 0 while the sum stays positive
+    SPY(false, 1, 0.001, number -> number.getDigits().getZeroCount() == 0
+            && number.getDigits().getDigitProduct() == number.getDigits().getDigitSum()),
+    SQUARE(false, 4, 0.001, number -> Number.isSquare(number.getValue())),
+    SUNNY(false, 4, 0.001, number -> number.getValue() < Long.MAX_VALUE && Number.isSquare(number.getValue() + 1L)),
+    JUMPING(false, 1, 0.001, number -> number.getDigits().isJumping()),
+    // after one step every value is a digit square sum, which is small enough for a lookup table
+    HAPPY(true, 1, 0.15, number -> Property.isHappyDigitSquareSum(number.getDigits().getDigitSquareSum())),
+    SAD(true, 2, 0.85, number -> !number.getPropertyValue(HAPPY));
+
+    // a long has at most 19 digits, each adding at most 9 * 9 to the sum
+    private static final int MAX_DIGIT_SQUARE_SUM = 19 * 81;
+    // whether repeatedly replacing the index by the sum of the squares of its digits reaches 1
+    private static final boolean[] HAPPY_DIGIT_SQUARE_SUMS = new boolean[MAX_DIGIT_SQUARE_SUM + 1];
+
+    private final String nameInLowerCase;
+    private final int mask;
+    // whether this property is true for all numbers
+    // or if this property and its mutually exclusive property *that is listed here*
+    // is true for all numbers eg: all natural numbers are > 1, all numbers are either odd or even
+    // some numbers may neither be square nor sunny -> together they don't complete
+    // the set of natural numbers, square and "not square" would complete the set of natural numbers
+    // but "not square" is not a listed property in this enum
+    private final boolean isComplete;
+    // rough cost of the test relative to EVEN, used to order the tests of a search
+    private final int cost;
+    // the share of large numbers that have this property, until a search observes better
+    private final double passRate;
+    private Property mutuallyExclusiveProperty;
+    private int mutuallyExclusiveMask;
+    private final Predicate<Number> test;
+
+    static {
+        EVEN.mutuallyExclusiveProperty = ODD;
+        ODD.mutuallyExclusiveProperty = EVEN;
+        BUZZ.mutuallyExclusiveProperty = null;
+        DUCK.mutuallyExclusiveProperty = SPY;
+        PALINDROMIC.mutuallyExclusiveProperty = null;
+        GAPFUL.mutuallyExclusiveProperty = null;
+        SPY.mutuallyExclusiveProperty = DUCK;
+        SQUARE.mutuallyExclusiveProperty = SUNNY;
+        SUNNY.mutuallyExclusiveProperty = SQUARE;
+        JUMPING.mutuallyExclusiveProperty = null;
+        HAPPY.mutuallyExclusiveProperty = SAD;
+        SAD.mutuallyExclusiveProperty = HAPPY;
+        for (int sum = 0; sum <= MAX_DIGIT_SQUARE_SUM; ++sum) {
+            // every sum below the max maps to a sum below the max, so the cycle check fits in an array
+            boolean[] visited = new boolean[MAX_DIGIT_SQUARE_SUM + 1];
+            int value = sum;
+            while (value != 1 && !visited[value]) {
+                visited[value] = true;
+                int nextValue = 0;
+                for (int rest = value; rest > 0; rest /= 10) {
+                    nextValue += (rest % 10) * (rest % 10);
+                }
+                value = nextValue;
+            }
+            HAPPY_DIGIT_SQUARE_SUMS[sum] = value == 1;
+        }
+        for (Property property : Property.values()) {
+            property.mutuallyExclusiveMask = property.mutuallyExclusiveProperty == null ?
+                    0 : property.mutuallyExclusiveProperty.mask;
+        }
+    }
+
+    Property(boolean isComplete, int cost, double passRate, Predicate<Number> test) {
+        this.isComplete = isComplete;
+        this.cost = cost;
+        this.passRate = passRate;
+        this.test = test;
+        this.nameInLowerCase = this.name().toLowerCase();
+        this.mask = 1 << this.ordinal();
+    }
+
+    public String getNameInLowerCase() {
+        return this.nameInLowerCase;
+    }
+
+    public Property getMutuallyExclusiveProperty() {
+        return this.mutuallyExclusiveProperty;
+    }
+
+    // bit of this property in a bitmask indexed by ordinal
+    public int getMask() {
+        return this.mask;
+    }
+
+    // bit of the mutually exclusive property or 0 if there isn't one
+    public int getMutuallyExclusiveMask() {
+        return this.mutuallyExclusiveMask;
+    }
+
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    public int getCost() {
+        return this.cost;
+    }
+
+    public double getPassRate() {
+        return this.passRate;
+    }
+
+    public Predicate<Number> getTest() {
+        return this.test;
+    }
+
+    private static boolean isHappyDigitSquareSum(int digitSquareSum) {
+        return HAPPY_DIGIT_SQUARE_SUMS[digitSquareSum];
+    }
+
+    public static Property getPropertyFromString(String propStr) {
+        try {
+            return Property.valueOf(propStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
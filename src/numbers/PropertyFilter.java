@@ -0,0 +1,142 @@
+package numbers;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The tests of a search: properties a number must have or must not have.
+ * The tests run in the order of increasing cost per rejected candidate,
+ * starting from the static cost and pass rate of each property and moving to
+ * the pass rates that the scans report through their Evaluators.
+ */
+public class PropertyFilter {
+
+    // observed pass rates replace the static ones after this many tests
+    private static final long MIN_OBSERVED_TESTS = 1_000L;
+    // keeps a test that never rejects from dividing by zero
+    private static final double MIN_REJECT_RATE = 1e-6;
+    private final Property[] properties;
+    private final boolean[] expectedValues;
+    private final int includedMask;
+    private final int excludedMask;
+    private final LongAdder[] tested;
+    private final LongAdder[] passed;
+    // indices into properties, cheapest expected cost per rejection first
+    private volatile int[] order;
+
+    PropertyFilter(Set<Property> includedProperties, Set<Property> excludedProperties) {
+        int size = includedProperties.size() + excludedProperties.size();
+        this.properties = new Property[size];
+        this.expectedValues = new boolean[size];
+        int ind = 0;
+        int mask = 0;
+        int excluded = 0;
+        for (Property property : includedProperties) {
+            this.properties[ind] = property;
+            this.expectedValues[ind++] = true;
+            mask |= property.getMask();
+        }
+        for (Property property : excludedProperties) {
+            this.properties[ind] = property;
+            this.expectedValues[ind++] = false;
+            excluded |= property.getMask();
+        }
+        this.includedMask = mask;
+        this.excludedMask = excluded;
+        this.tested = new LongAdder[size];
+        this.passed = new LongAdder[size];
+        for (ind = 0; ind < size; ++ind) {
+            this.tested[ind] = new LongAdder();
+            this.passed[ind] = new LongAdder();
+        }
+        this.order = this.computeOrder();
+    }
+
+    public boolean isIncluded(Property property) {
+        return (this.includedMask & property.getMask()) != 0;
+    }
+
+    public int getIncludedMask() {
+        return this.includedMask;
+    }
+
+    public int getExcludedMask() {
+        return this.excludedMask;
+    }
+
+    public boolean test(Number number) {
+        for (int ind : this.order) {
+            if (number.getPropertyValue(this.properties[ind]) != this.expectedValues[ind]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // a new evaluator for each scan so that the counting stays on one thread
+    public Evaluator newEvaluator() {
+        return new Evaluator();
+    }
+
+    private int[] computeOrder() {
+        double[] ranks = new double[this.properties.length];
+        Integer[] indices = new Integer[this.properties.length];
+        for (int ind = 0; ind < this.properties.length; ++ind) {
+            indices[ind] = ind;
+            long testCount = this.tested[ind].sum();
+            double passRate;
+            if (testCount >= MIN_OBSERVED_TESTS) {
+                passRate = (double) this.passed[ind].sum() / testCount;
+            } else {
+                double hasProperty = this.properties[ind].getPassRate();
+                passRate = this.expectedValues[ind] ? hasProperty : 1.0 - hasProperty;
+            }
+            ranks[ind] = this.properties[ind].getCost() / Math.max(1.0 - passRate, MIN_REJECT_RATE);
+        }
+        // ties keep the order of the properties so that the order is the same on every run
+        Arrays.sort(indices, (first, second) -> ranks[first] != ranks[second] ?
+                Double.compare(ranks[first], ranks[second])
+                : Integer.compare(this.properties[first].ordinal(), this.properties[second].ordinal()));
+        return Arrays.stream(indices).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Tests the numbers of one scan in the current order of the filter and
+     * counts how often each test passes. The counts are handed to the filter,
+     * which reorders its tests, whenever the scan reports them.
+     */
+    public class Evaluator {
+
+        private int[] order = PropertyFilter.this.order;
+        private final long[] tested = new long[PropertyFilter.this.properties.length];
+        private final long[] passed = new long[PropertyFilter.this.properties.length];
+
+        private Evaluator() {
+        }
+
+        public boolean test(Number number) {
+            for (int ind : this.order) {
+                ++this.tested[ind];
+                if (number.getPropertyValue(PropertyFilter.this.properties[ind])
+                        != PropertyFilter.this.expectedValues[ind]) {
+                    return false;
+                }
+                ++this.passed[ind];
+            }
+            return true;
+        }
+
+        // hands the counts to the filter and continues with the order they lead to
+        public void report() {
+            for (int ind = 0; ind < this.tested.length; ++ind) {
+                PropertyFilter.this.tested[ind].add(this.tested[ind]);
+                PropertyFilter.this.passed[ind].add(this.passed[ind]);
+                this.tested[ind] = 0L;
+                this.passed[ind] = 0L;
+            }
+            this.order = PropertyFilter.this.computeOrder();
+            PropertyFilter.this.order = this.order;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package numbers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongConsumer;
+
+/**
+ * A precomputed bitmap per property over a range of numbers, stored in one file
+ * and memory-mapped. Bit i of word w of a bitmap is the property of start + 64 * w + i.
+ * The bits are the plain tests of the properties without the mutual exclusion
+ * shortcut, which matches PropertyFilter because QueryPlanner already drops the
+ * exclusions that an included property settles.
+ *
+ * File layout: the magic, the start, the end and the number of properties as
+ * longs, then the bitmaps in property order, all little-endian.
+ */
+public class PropertyIndex {
+
+    private static final long MAGIC = 0x4E554D4944583031L;
+    private static final int HEADER_SIZE = 4 * Long.BYTES;
+    private static final int PROPERTY_COUNT = Property.values().length;
+    // longs per mapped segment, a single mapping can't exceed 2 GiB
+    private static final int SEGMENT_WORDS = 1 << 27;
+    // words built by one task of the index builder
+    private static final long WORDS_PER_TASK = 1L << 12;
+    private final long start;
+    private final long end;
+    private final long words;
+    // indexed by property ordinal, then segment
+    private final LongBuffer[][] bitmaps;
+
+    private PropertyIndex(long start, long end, LongBuffer[][] bitmaps) {
+        this.start = start;
+        this.end = end;
+        this.words = (end - start) / Long.SIZE;
+        this.bitmaps = bitmaps;
+    }
+
+    public static PropertyIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getLong() != MAGIC) {
+                throw new IOException("Not a property index: " + path);
+            }
+            long start = header.getLong();
+            long end = header.getLong();
+            if (header.getLong() != PROPERTY_COUNT) {
+                throw new IOException("The property index was built for other properties: " + path);
+            }
+            // end - start is negative if it overflows
+            if (start >= end || end - start < 0L
+                    || Math.floorMod(start, Long.SIZE) != 0L || Math.floorMod(end, Long.SIZE) != 0L) {
+                throw new IOException(String.format(Locale.ROOT,
+                        "The property index file is corrupt, [%d, %d) is not a range of whole words: %s",
+                        start, end, path));
+            }
+            long words = (end - start) / Long.SIZE;
+            checkLength(path, channel.size(), words);
+            return new PropertyIndex(start, end, map(channel, FileChannel.MapMode.READ_ONLY, words));
+        }
+    }
+
+    // the bitmaps of the header's range must fill the rest of the file exactly
+    private static void checkLength(Path path, long length, long words) throws IOException {
+        long bitmapBytes = (long) PROPERTY_COUNT * Long.BYTES;
+        long bitmapsLength = length - HEADER_SIZE;
+        // compared by division since the expected length may not fit in a long
+        if (bitmapsLength / bitmapBytes < words) {
+            throw new IOException(String.format(Locale.ROOT,
+                    "The property index file is truncated, it has %d bytes of bitmaps for %d words: %s",
+                    bitmapsLength, words, path));
+        }
+        if (bitmapsLength / bitmapBytes > words || bitmapsLength % bitmapBytes != 0L) {
+            throw new IOException(String.format(Locale.ROOT,
+                    "The property index file is corrupt, it has %d bytes of bitmaps for %d words: %s",
+                    bitmapsLength, words, path));
+        }
+    }
+
+    /**
+     * Writes the index of [start, end) to path. The range is widened to whole words
+     * of 64 numbers and the words are computed in parallel on the pool.
+     */
+    public static PropertyIndex build(Path path, long start, long end, ForkJoinPool pool) throws IOException {
+        long alignedStart = Math.floorDiv(start, Long.SIZE) * Long.SIZE;
+        long alignedEnd = Math.floorDiv(end + Long.SIZE - 1, Long.SIZE) * Long.SIZE;
+        long words = (alignedEnd - alignedStart) / Long.SIZE;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                    .putLong(MAGIC).putLong(alignedStart).putLong(alignedEnd).putLong(PROPERTY_COUNT);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            PropertyIndex index = new PropertyIndex(alignedStart, alignedEnd,
+                    map(channel, FileChannel.MapMode.READ_WRITE, words));
+            pool.invoke(new BuildTask(index, 0L, words));
+            return index;
+        }
+    }
+
+    private static LongBuffer[][] map(FileChannel channel, FileChannel.MapMode mode, long words) throws IOException {
+        int segments = (int) ((words + SEGMENT_WORDS - 1) / SEGMENT_WORDS);
+        LongBuffer[][] bitmaps = new LongBuffer[PROPERTY_COUNT][segments];
+        for (int property = 0; property < PROPERTY_COUNT; ++property) {
+            for (int segment = 0; segment < segments; ++segment) {
+                long firstWord = (long) segment * SEGMENT_WORDS;
+                long segmentWords = Math.min(SEGMENT_WORDS, words - firstWord);
+                long position = HEADER_SIZE + ((long) property * words + firstWord) * Long.BYTES;
+                bitmaps[property][segment] = channel.map(mode, position, segmentWords * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            }
+        }
+        return bitmaps;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    private long word(int property, long word) {
+        return this.bitmaps[property][(int) (word / SEGMENT_WORDS)].get((int) (word % SEGMENT_WORDS));
+    }
+
+    // the numbers of a word that have every included property and none of the excluded ones
+    private long matchingBits(long word, int includedMask, int excludedMask) {
+        long bits = -1L;
+        for (int mask = includedMask; mask != 0 && bits != 0L; mask &= mask - 1) {
+            bits &= this.word(Integer.numberOfTrailingZeros(mask), word);
+        }
+        for (int mask = excludedMask; mask != 0 && bits != 0L; mask &= mask - 1) {
+            bits &= ~this.word(Integer.numberOfTrailingZeros(mask), word);
+        }
+        return bits;
+    }
+
+    // the bits of a word for the numbers in [from, to), both of which must be in the index
+    private long rangeBits(long word, long from, long to) {
+        long wordStart = this.start + word * Long.SIZE;
+        long bits = -1L;
+        if (from > wordStart) {
+            bits &= -1L << (from - wordStart);
+        }
+        if (to < wordStart + Long.SIZE) {
+            bits &= -1L >>> (wordStart + Long.SIZE - to);
+        }
+        return bits;
+    }
+
+    /**
+     * Passes the numbers of [from, to) that match the masks to onMatch in ascending order.
+     * Words without a match are skipped as a whole. [from, to) must be in the index.
+     */
+    public void forEachMatch(long from, long to, int includedMask, int excludedMask, LongConsumer onMatch) {
+        if (from >= to) {
+            return;
+        }
+        long lastWord = (to - 1 - this.start) / Long.SIZE;
+        for (long word = (from - this.start) / Long.SIZE; word <= lastWord; ++word) {
+            long bits = this.matchingBits(word, includedMask, excludedMask) & this.rangeBits(word, from, to);
+            long wordStart = this.start + word * Long.SIZE;
+            while (bits != 0L) {
+                onMatch.accept(wordStart + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1L;
+            }
+        }
+    }
+
+    // how many numbers of [from, to) match the masks, [from, to) must be in the index
+    public long count(long from, long to, int includedMask, int excludedMask) {
+        if (from >= to) {
+            return 0L;
+        }
+        long count = 0L;
+        long lastWord = (to - 1 - this.start) / Long.SIZE;
+        for (long word = (from - this.start) / Long.SIZE; word <= lastWord; ++word) {
+            count += Long.bitCount(this.matchingBits(word, includedMask, excludedMask) & this.rangeBits(word, from, to));
+        }
+        return count;
+    }
+
+    private static class BuildTask extends RecursiveAction {
+
+        private final PropertyIndex index;
+        private final long firstWord;
+        private final long stopWord;
+
+        private BuildTask(PropertyIndex index, long firstWord, long stopWord) {
+            this.index = index;
+            this.firstWord = firstWord;
+            this.stopWord = stopWord;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.stopWord - this.firstWord > WORDS_PER_TASK) {
+                long middle = (this.firstWord + this.stopWord) >>> 1;
+                invokeAll(new BuildTask(this.index, this.firstWord, middle),
+                        new BuildTask(this.index, middle, this.stopWord));
+                return;
+            }
+            Property[] properties = Property.values();
+            Number number = new Number(this.index.start + this.firstWord * Long.SIZE);
+            long[] bits = new long[PROPERTY_COUNT];
+            for (long word = this.firstWord; word < this.stopWord; ++word) {
+                Arrays.fill(bits, 0L);
+                for (int bit = 0; bit < Long.SIZE; ++bit, number.next()) {
+                    // the plain tests, see the class comment
+                    for (Property property : properties) {
+                        if (property.getTest().test(number)) {
+                            bits[property.ordinal()] |= 1L << bit;
+                        }
+                    }
+                }
+                for (int property = 0; property < PROPERTY_COUNT; ++property) {
+                    this.index.bitmaps[property][(int) (word / SEGMENT_WORDS)].put((int) (word % SEGMENT_WORDS), bits[property]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package numbers;
+
+import java.util.List;
+
+public class Query {
+
+    public enum Type {
+        // 0, ends the session
+        EXIT,
+        // one number whose properties are listed
+        SINGLE,
+        // a start and how many consecutive numbers to list
+        LIST,
+        // a start, how many matches to list and the properties they must have or not have
+        SEARCH,
+        // a start, how many consecutive numbers to count and the properties the counted matches must have
+        COUNT,
+        // a count that also tallies the properties of the matches
+        HISTOGRAM,
+        // stats shows the statistics of the last request, stats on/off switches collecting them
+        STATS,
+        STATS_ON,
+        STATS_OFF,
+        // the messages explain what is wrong
+        INVALID
+    }
+
+    private final Type type;
+    private final long start;
+    private final long count;
+    private final PropertyFilter filter;
+    private final List<String> messages;
+
+    private Query(Type type, long start, long count, PropertyFilter filter, List<String> messages) {
+        this.type = type;
+        this.start = start;
+        this.count = count;
+        this.filter = filter;
+        this.messages = messages;
+    }
+
+    public static Query exit() {
+        return new Query(Type.EXIT, 0L, 0L, null, List.of());
+    }
+
+    public static Query single(long value) {
+        return new Query(Type.SINGLE, value, 1L, null, List.of());
+    }
+
+    public static Query list(long start, long count) {
+        return new Query(Type.LIST, start, count, null, List.of());
+    }
+
+    public static Query search(long start, long count, PropertyFilter filter) {
+        return new Query(Type.SEARCH, start, count, filter, List.of());
+    }
+
+    public static Query count(long start, long count, PropertyFilter filter, boolean isHistogram) {
+        return new Query(isHistogram ? Type.HISTOGRAM : Type.COUNT, start, count, filter, List.of());
+    }
+
+    public static Query stats(Type type) {
+        return new Query(type, 0L, 0L, null, List.of());
+    }
+
+    public static Query invalid(List<String> messages) {
+        return new Query(Type.INVALID, 0L, 0L, null, List.copyOf(messages));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public PropertyFilter getFilter() {
+        return filter;
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+}
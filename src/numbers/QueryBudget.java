@@ -0,0 +1,34 @@
+package numbers;
+
+/**
+ * How long a request may run. Searches check their budget between chunks and
+ * every few thousand candidates and stop early once it is spent or cancelled.
+ */
+public class QueryBudget {
+
+    public static final QueryBudget UNLIMITED = new QueryBudget(Long.MAX_VALUE);
+    private final long startNanos = System.nanoTime();
+    private final long limitNanos;
+    private volatile boolean isCancelled;
+
+    private QueryBudget(long limitNanos) {
+        this.limitNanos = limitNanos;
+    }
+
+    public static QueryBudget ofMillis(long millis) {
+        return new QueryBudget(millis * 1_000_000L);
+    }
+
+    public void cancel() {
+        this.isCancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.isCancelled;
+    }
+
+    public boolean isExpired() {
+        return this.isCancelled
+                || this.limitNanos != Long.MAX_VALUE && System.nanoTime() - this.startNanos >= this.limitNanos;
+    }
+}
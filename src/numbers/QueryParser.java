@@ -0,0 +1,184 @@
+package numbers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class QueryParser {
+
+    private static final String VALID_PROPERTIES_STRING = Arrays.stream(Property.values())
+            .map(Property::name).collect(Collectors.joining(", "));
+    private static final String INVALID_FIRST_PARAM = "The first parameter should be a natural number or zero.";
+    private static final String INVALID_SECOND_PARAM = "The second parameter should be a natural number.";
+
+    private QueryParser() {
+    }
+
+    public static Query parse(String line) {
+        return parse(RequestTokenizer.split(line));
+    }
+
+    public static Query parse(String[] inputs) {
+        List<String> messages = new ArrayList<>();
+        if (inputs.length == 0) {
+            return Query.invalid(messages);
+        }
+        if ("stats".equalsIgnoreCase(inputs[0])) {
+            if (inputs.length == 1) {
+                return Query.stats(Query.Type.STATS);
+            } else if (inputs.length == 2 && "on".equalsIgnoreCase(inputs[1])) {
+                return Query.stats(Query.Type.STATS_ON);
+            } else if (inputs.length == 2 && "off".equalsIgnoreCase(inputs[1])) {
+                return Query.stats(Query.Type.STATS_OFF);
+            }
+        }
+        if ("count".equalsIgnoreCase(inputs[0]) || "histogram".equalsIgnoreCase(inputs[0])) {
+            return parseCount(inputs, "histogram".equalsIgnoreCase(inputs[0]));
+        }
+        long start = parseWholeNumber(inputs[0]);
+        if (inputs.length == 1) {
+            if (start == -1L) {
+                messages.add(INVALID_FIRST_PARAM);
+                return Query.invalid(messages);
+            }
+            return start == 0L ? Query.exit() : Query.single(start);
+        }
+        if (start == -1L) {
+            messages.add(INVALID_FIRST_PARAM);
+        }
+        long count = Number.isNaturalNumber(inputs[1]) ? parseWholeNumber(inputs[1]) : -1L;
+        if (count == -1L) {
+            messages.add(INVALID_SECOND_PARAM);
+        }
+        if (inputs.length == 2) {
+            return messages.isEmpty() ? Query.list(start, count) : Query.invalid(messages);
+        }
+        Set<String> invalidProperties = new HashSet<>();
+        Set<Property> includedProperties = new HashSet<>();
+        Set<Property> excludedProperties = new HashSet<>();
+        for (int ind = 2; ind < inputs.length; ++ind) {
+            boolean shouldExcludeProperty = inputs[ind].charAt(0) == '-';
+            Property property = shouldExcludeProperty ?
+                    Property.getPropertyFromString(inputs[ind].substring(1))
+                    : Property.getPropertyFromString(inputs[ind]);
+            if (property == null) {
+                invalidProperties.add(inputs[ind].toUpperCase());
+            } else if (shouldExcludeProperty) {
+                excludedProperties.add(property);
+            } else {
+                includedProperties.add(property);
+            }
+        }
+        if (invalidProperties.size() > 0) {
+            messages.add(new StringBuilder(invalidProperties.size() > 1 ? "The properties [" : "The property [")
+                    .append(String.join(", ", invalidProperties))
+                    .append(invalidProperties.size() > 1 ? "] are wrong.\n" : "] is wrong.\n")
+                    .append("Available properties: [")
+                    .append(VALID_PROPERTIES_STRING)
+                    .append("]").toString());
+        } else {
+            checkMutuallyExclusiveProperties(includedProperties, excludedProperties, messages);
+        }
+        return messages.isEmpty() ?
+                Query.search(start, count, QueryPlanner.plan(includedProperties, excludedProperties))
+                : Query.invalid(messages);
+    }
+
+    // count or histogram followed by the parameters of a list or a search
+    private static Query parseCount(String[] inputs, boolean isHistogram) {
+        if (inputs.length < 3) {
+            List<String> messages = new ArrayList<>();
+            if (inputs.length == 1 || parseWholeNumber(inputs[1]) == -1L) {
+                messages.add(INVALID_FIRST_PARAM);
+            }
+            messages.add(INVALID_SECOND_PARAM);
+            return Query.invalid(messages);
+        }
+        Query query = parse(Arrays.copyOfRange(inputs, 1, inputs.length));
+        switch (query.getType()) {
+            case LIST:
+                return Query.count(query.getStart(), query.getCount(),
+                        QueryPlanner.plan(Set.of(), Set.of()), isHistogram);
+            case SEARCH:
+                return Query.count(query.getStart(), query.getCount(), query.getFilter(), isHistogram);
+            default:
+                return query;
+        }
+    }
+
+    private static void checkMutuallyExclusiveProperties(Set<Property> includedProperties,
+                                                         Set<Property> excludedProperties,
+                                                         List<String> messages) {
+        // check no mutually exclusive properties in included properties
+        Set<Property> mutuallyExclusiveProperties = new HashSet<>();
+        for (Property property : includedProperties) {
+            if (includedProperties.contains(property.getMutuallyExclusiveProperty())) {
+                if (!mutuallyExclusiveProperties.contains(property.getMutuallyExclusiveProperty())) {
+                    mutuallyExclusiveProperties.add(property);
+                }
+            }
+        }
+        if (mutuallyExclusiveProperties.size() > 0) {
+            StringBuilder printSb = new StringBuilder();
+            for (Property property : mutuallyExclusiveProperties) {
+                printSb.append("The request contains mutually exclusive properties: [")
+                        .append(property.name()).append(", ")
+                        .append(property.getMutuallyExclusiveProperty().name())
+                        .append("]\nThere are no numbers with these properties.\n");
+            }
+            messages.add(printSb.toString());
+        }
+        // check no "complete" mutually exclusive properties in excluded properties
+        mutuallyExclusiveProperties.clear();
+        for (Property property : excludedProperties) {
+            if (property.isComplete() && excludedProperties.contains(property.getMutuallyExclusiveProperty())) {
+                if (!mutuallyExclusiveProperties.contains(property.getMutuallyExclusiveProperty())) {
+                    mutuallyExclusiveProperties.add(property);
+                }
+            }
+        }
+        if (mutuallyExclusiveProperties.size() > 0) {
+            StringBuilder printSb = new StringBuilder();
+            for (Property property : mutuallyExclusiveProperties) {
+                printSb.append("The request contains mutually exclusive properties: [-")
+                        .append(property.name()).append(", -")
+                        .append(property.getMutuallyExclusiveProperty().name())
+                        .append("]\nThere are no numbers with these properties.\n");
+            }
+            messages.add(printSb.toString());
+        }
+        // check that included and excluded properties have nothing in common
+        mutuallyExclusiveProperties.clear();
+        mutuallyExclusiveProperties.addAll(includedProperties);
+        mutuallyExclusiveProperties.retainAll(excludedProperties);
+        if (mutuallyExclusiveProperties.size() > 0) {
+            StringBuilder printSb = new StringBuilder();
+            for (Property property : mutuallyExclusiveProperties) {
+                printSb.append("The request contains mutually exclusive properties: [-")
+                        .append(property.name()).append(", ")
+                        .append(property.name())
+                        .append("]\nThere are no numbers with these properties.\n");
+            }
+            messages.add(printSb.toString());
+        }
+    }
+
+    // the value of a whole number that fits in a long or -1
+    private static long parseWholeNumber(String numStr) {
+        if (!Number.isWholeNumber(numStr)) {
+            return -1L;
+        }
+        long value = 0L;
+        for (int ind = numStr.charAt(0) == '+' ? 1 : 0; ind < numStr.length(); ++ind) {
+            int digit = numStr.charAt(ind) - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10L) {
+                return -1L;
+            }
+            value = value * 10L + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,38 @@
+package numbers;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Turns the properties of a validated search request into a PropertyFilter.
+ * The request is simplified first with the mutual exclusion metadata of the
+ * properties, then the remaining tests are ordered so that the cheap tests that
+ * reject the most candidates come first. The filter keeps adapting the order
+ * to the pass rates it observes while the search runs.
+ */
+public final class QueryPlanner {
+
+    private QueryPlanner() {
+    }
+
+    public static PropertyFilter plan(Set<Property> includedProperties, Set<Property> excludedProperties) {
+        Set<Property> included = includedProperties.isEmpty() ?
+                EnumSet.noneOf(Property.class) : EnumSet.copyOf(includedProperties);
+        Set<Property> excluded = EnumSet.noneOf(Property.class);
+        for (Property property : excludedProperties) {
+            // a number is in exactly one of the properties of a complete pair, eg: -odd is even
+            if (property.isComplete() && property.getMutuallyExclusiveProperty() != null) {
+                included.add(property.getMutuallyExclusiveProperty());
+            } else {
+                excluded.add(property);
+            }
+        }
+        for (Property property : included) {
+            // an included property settles its mutually exclusive property as false, eg: square is -sunny
+            if (property.getMutuallyExclusiveProperty() != null) {
+                excluded.remove(property.getMutuallyExclusiveProperty());
+            }
+        }
+        return new PropertyFilter(included, excluded);
+    }
+}
@@ -0,0 +1,130 @@
+package numbers;
+
+/**
+ * Evaluates parsed queries and writes their results. A runner keeps the statistics
+ * of its session, so each session, and each thread that runs queries, needs its
+ * own runner.
+ */
+public class QueryRunner {
+
+    private static final String CANCELLED_MESSAGE = "The request was cancelled.";
+    private static final String OUT_OF_TIME_MESSAGE = "The request ran out of time and was stopped.";
+    private static final String STATS_OFF_MESSAGE = "Statistics are off, enter stats on to collect them.";
+    private final SearchEngine searchEngine;
+    private final ResultCache resultCache;
+    // null while statistics are off
+    private QueryStats stats;
+
+    public QueryRunner(SearchEngine searchEngine, ResultCache resultCache) {
+        this.searchEngine = searchEngine;
+        this.resultCache = resultCache;
+    }
+
+    // an exit query is left to the caller since only the caller knows how to end its session
+    public void run(Query query, OutputWriter out) {
+        this.run(query, out, QueryBudget.UNLIMITED);
+    }
+
+    // a listing, search or count stops early once its budget is spent or cancelled
+    public void run(Query query, OutputWriter out, QueryBudget budget) {
+        switch (query.getType()) {
+            case SINGLE:
+            case LIST:
+            case SEARCH:
+            case COUNT:
+            case HISTOGRAM:
+                if (this.stats != null) {
+                    this.stats.reset();
+                    long startNanos = System.nanoTime();
+                    this.evaluate(query, out, budget);
+                    this.stats.recordTotal(System.nanoTime() - startNanos);
+                    out.println(this.stats.report() + this.resultCache.report());
+                } else {
+                    this.evaluate(query, out, budget);
+                }
+                if (budget.isCancelled()) {
+                    out.println(CANCELLED_MESSAGE);
+                } else if (budget.isExpired()) {
+                    out.println(OUT_OF_TIME_MESSAGE);
+                }
+                break;
+            case STATS:
+                out.println(this.stats != null ?
+                        this.stats.report() + this.resultCache.report() : STATS_OFF_MESSAGE);
+                break;
+            case STATS_ON:
+                if (this.stats == null) {
+                    this.stats = new QueryStats();
+                }
+                out.println("Statistics are on.");
+                break;
+            case STATS_OFF:
+                this.stats = null;
+                out.println("Statistics are off.");
+                break;
+            case INVALID:
+                for (String message : query.getMessages()) {
+                    out.println(message);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void evaluate(Query query, OutputWriter out, QueryBudget budget) {
+        switch (query.getType()) {
+            case SINGLE:
+                this.display(new Number(query.getStart(), this.stats), true, out);
+                break;
+            case LIST:
+                long stop = query.getStart() + query.getCount();
+                Number rangeNumber = new Number(query.getStart(), this.stats);
+                for (long value = query.getStart(); value < stop; ++value) {
+                    if ((value & 0xFFFL) == 0L && budget.isExpired()) {
+                        break;
+                    }
+                    this.display(rangeNumber, false, out);
+                    rangeNumber.next();
+                }
+                break;
+            case SEARCH:
+                PropertyFilter filter = query.getFilter();
+                // the search recorded the evaluations of its matches already, evaluating
+                // them again for the output only counts toward the output time
+                Number matchNumber = new Number(0L);
+                this.resultCache.search(this.searchEngine, query.getStart(), query.getCount(), filter, value -> {
+                    matchNumber.reset(value);
+                    // evaluate the filter again so mutually exclusive properties
+                    // are settled in the same order as during the search
+                    filter.test(matchNumber);
+                    this.display(matchNumber, false, out);
+                }, budget, this.stats);
+                break;
+            case COUNT:
+            case HISTOGRAM:
+                boolean isHistogram = query.getType() == Query.Type.HISTOGRAM;
+                long countStop = query.getStart() > Long.MAX_VALUE - query.getCount() ?
+                        Long.MAX_VALUE : query.getStart() + query.getCount();
+                long startNanos = System.nanoTime();
+                RangeCounts counts = this.searchEngine.count(query.getStart(), countStop,
+                        query.getFilter(), isHistogram, budget, this.stats);
+                out.writeCounts(counts, query.getStart(), isHistogram, System.nanoTime() - startNanos);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void display(Number number, boolean asSingleton, OutputWriter out) {
+        long startNanos = this.stats != null ? System.nanoTime() : 0L;
+        if (asSingleton) {
+            number.displayNumberAsSingleton(out);
+        } else {
+            number.displayNumberAsMember(out);
+        }
+        if (this.stats != null) {
+            this.stats.recordOutput(System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package numbers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A long-lived server on localhost so that many users share one warmed-up JVM,
+ * its search engine and its result cache. Each connection is a session like the
+ * console: the same banner, prompts and requests, and 0 ends it. A connection is
+ * served by two threads, one reading requests and one running them, so that
+ * "cancel" or a broken connection stops the running request, while a client
+ * that only closes its output still gets the results of its requests. Every request
+ * also has a time budget so a long search can't hold on to the shared pool.
+ */
+public class QueryServer {
+
+    private static final String CANCEL_REQUEST = "cancel";
+    private final int port;
+    private final long timeLimitMillis;
+    private final SearchEngine searchEngine;
+    private final ResultCache resultCache;
+    private final ExecutorService executor = newConnectionExecutor();
+
+    public QueryServer(int port, long timeLimitMillis, SearchEngine searchEngine, ResultCache resultCache) {
+        this.port = port;
+        this.timeLimitMillis = timeLimitMillis;
+        this.searchEngine = searchEngine;
+        this.resultCache = resultCache;
+    }
+
+    // virtual threads where the runtime has them (Java 21+), otherwise a pool of platform threads
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void serve() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(this.port, 0, InetAddress.getLoopbackAddress())) {
+            System.out.println("Listening on " + serverSocket.getLocalSocketAddress());
+            while (true) {
+                Socket socket = serverSocket.accept();
+                this.executor.execute(() -> this.readRequests(socket));
+            }
+        } finally {
+            this.executor.shutdownNow();
+        }
+    }
+
+    // the reader isn't closed at the end of the input, that would close the socket
+    // under a half-closed client that still waits for its results
+    private void readRequests(Socket socket) {
+        Connection connection = new Connection(socket);
+        this.executor.execute(connection::runRequests);
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (CANCEL_REQUEST.equalsIgnoreCase(line.strip())) {
+                    connection.cancelCurrent();
+                } else {
+                    connection.requests.add(Request.of(line));
+                }
+            }
+        } catch (IOException e) {
+            // the client is gone, so nobody waits for the running request
+            connection.cancelCurrent();
+        }
+        // runRequests finishes the queued requests and closes the socket
+        connection.requests.add(Request.END_OF_INPUT);
+    }
+
+    // a line read from a connection, or the end of its input
+    private static class Request {
+
+        private static final Request END_OF_INPUT = new Request(null);
+        private final String line;
+
+        private Request(String line) {
+            this.line = line;
+        }
+
+        private static Request of(String line) {
+            return new Request(line);
+        }
+
+        private boolean isEndOfInput() {
+            return this.line == null;
+        }
+    }
+
+    private class Connection {
+
+        private final Socket socket;
+        private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+        private final QueryRunner runner = new QueryRunner(QueryServer.this.searchEngine, QueryServer.this.resultCache);
+        private volatile QueryBudget currentBudget;
+
+        private Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        private void cancelCurrent() {
+            QueryBudget budget = this.currentBudget;
+            if (budget != null) {
+                budget.cancel();
+            }
+        }
+
+        private void runRequests() {
+            try (Socket socket = this.socket) {
+                OutputWriter out = new OutputWriter(socket.getOutputStream());
+                out.println(Main.HELLO_STRING);
+                while (true) {
+                    out.println("Enter a request:");
+                    out.flush();
+                    Request request = this.requests.take();
+                    if (request.isEndOfInput()) {
+                        break;
+                    }
+                    Query query = QueryParser.parse(request.line);
+                    if (query.getType() == Query.Type.EXIT) {
+                        out.println("Goodbye!");
+                        out.flush();
+                        break;
+                    }
+                    this.currentBudget = QueryBudget.ofMillis(QueryServer.this.timeLimitMillis);
+                    this.runner.run(query, out, this.currentBudget);
+                    this.currentBudget = null;
+                }
+            } catch (IOException | UncheckedIOException e) {
+                // the client is gone
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
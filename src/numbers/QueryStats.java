@@ -0,0 +1,88 @@
+package numbers;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters of where the time of a request goes: candidates scanned, matches,
+ * evaluations, cache hits and time per property, and time spent writing output.
+ * Each QueryRunner owns its statistics and passes them down to the scans and the
+ * Numbers they test, so sessions of a server don't count each other's requests.
+ * The counters are shared by the threads of a request and reset at its start.
+ * Where statistics are off the scans get null and the only cost is a null check.
+ */
+public final class QueryStats {
+
+    private static final int PROPERTY_COUNT = Property.values().length;
+    private final LongAdder[] evaluations = newAdders(PROPERTY_COUNT);
+    private final LongAdder[] cacheHits = newAdders(PROPERTY_COUNT);
+    private final LongAdder[] evaluationNanos = newAdders(PROPERTY_COUNT);
+    private final LongAdder candidates = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder outputNanos = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int ind = 0; ind < count; ++ind) {
+            adders[ind] = new LongAdder();
+        }
+        return adders;
+    }
+
+    public void reset() {
+        for (int ind = 0; ind < PROPERTY_COUNT; ++ind) {
+            this.evaluations[ind].reset();
+            this.cacheHits[ind].reset();
+            this.evaluationNanos[ind].reset();
+        }
+        this.candidates.reset();
+        this.matches.reset();
+        this.outputNanos.reset();
+        this.totalNanos.reset();
+    }
+
+    public void recordEvaluation(Property property, long nanos) {
+        this.evaluations[property.ordinal()].increment();
+        this.evaluationNanos[property.ordinal()].add(nanos);
+    }
+
+    public void recordCacheHit(Property property) {
+        this.cacheHits[property.ordinal()].increment();
+    }
+
+    public void recordCandidates(long count) {
+        this.candidates.add(count);
+    }
+
+    public void recordMatch(long count) {
+        this.matches.add(count);
+    }
+
+    public void recordOutput(long nanos) {
+        this.outputNanos.add(nanos);
+    }
+
+    public void recordTotal(long nanos) {
+        this.totalNanos.add(nanos);
+    }
+
+    // the time of a property includes the properties its test asks for, eg: SAD includes HAPPY
+    public String report() {
+        StringBuilder reportSb = new StringBuilder("Statistics of the last request:\n")
+                .append(String.format(Locale.ROOT, "candidates scanned: %d%n", this.candidates.sum()))
+                .append(String.format(Locale.ROOT, "matches: %d%n", this.matches.sum()))
+                .append(String.format(Locale.ROOT, "total time: %.3f ms%n", this.totalNanos.sum() / 1e6))
+                .append(String.format(Locale.ROOT, "output time: %.3f ms%n", this.outputNanos.sum() / 1e6))
+                .append(String.format(Locale.ROOT, "%-12s %12s %12s %12s%n", "property", "evaluations", "cache hits", "time (ms)"));
+        for (Property property : Property.values()) {
+            long evaluationCount = this.evaluations[property.ordinal()].sum();
+            long cacheHitCount = this.cacheHits[property.ordinal()].sum();
+            if (evaluationCount > 0L || cacheHitCount > 0L) {
+                reportSb.append(String.format(Locale.ROOT, "%-12s %12d %12d %12.3f%n", property.getNameInLowerCase(),
+                        evaluationCount, cacheHitCount, this.evaluationNanos[property.ordinal()].sum() / 1e6));
+            }
+        }
+        return reportSb.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package numbers;
+
+/**
+ * The tallies of a count over a range: how many numbers were looked at, how
+ * many matched the filter and, for a histogram, how many of the matches have
+ * each property. Every count task fills its own instance, and the instances are
+ * merged when the tasks are joined, so the hot loops share no counters.
+ */
+public class RangeCounts {
+
+    private final long[] propertyCounts = new long[Property.values().length];
+    private long counted;
+    private long matches;
+
+    public long getCounted() {
+        return counted;
+    }
+
+    public long getMatches() {
+        return matches;
+    }
+
+    public long getPropertyCount(Property property) {
+        return propertyCounts[property.ordinal()];
+    }
+
+    void addCounted(long values) {
+        this.counted += values;
+    }
+
+    void addMatches(long howMany) {
+        this.matches += howMany;
+    }
+
+    // a match with the given Property.getMask() bits
+    void addMatch(int properties) {
+        ++this.matches;
+        for (; properties != 0; properties &= properties - 1) {
+            ++this.propertyCounts[Integer.numberOfTrailingZeros(properties)];
+        }
+    }
+
+    RangeCounts merge(RangeCounts other) {
+        this.counted += other.counted;
+        this.matches += other.matches;
+        for (int ind = 0; ind < this.propertyCounts.length; ++ind) {
+            this.propertyCounts[ind] += other.propertyCounts[ind];
+        }
+        return this;
+    }
+}
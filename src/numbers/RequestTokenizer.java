@@ -0,0 +1,51 @@
+package numbers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a request on runs of whitespace without a regex. The result is the same
+ * as splitting with the pattern \s+: a leading run gives a leading empty token
+ * and trailing empty tokens are dropped.
+ */
+public final class RequestTokenizer {
+
+    private static final String[] NO_TOKENS = new String[0];
+
+    private RequestTokenizer() {
+    }
+
+    public static String[] split(String line) {
+        List<String> tokens = new ArrayList<>();
+        int length = line.length();
+        int pos = 0;
+        boolean hasWhitespace = false;
+        while (true) {
+            int tokenStart = pos;
+            while (pos < length && !isWhitespace(line.charAt(pos))) {
+                ++pos;
+            }
+            tokens.add(line.substring(tokenStart, pos));
+            if (pos == length) {
+                break;
+            }
+            hasWhitespace = true;
+            while (pos < length && isWhitespace(line.charAt(pos))) {
+                ++pos;
+            }
+        }
+        if (!hasWhitespace) {
+            return new String[] {line};
+        }
+        int size = tokens.size();
+        while (size > 0 && tokens.get(size - 1).isEmpty()) {
+            --size;
+        }
+        return size == 0 ? NO_TOKENS : tokens.subList(0, size).toArray(NO_TOKENS);
+    }
+
+    // the characters matched by \s
+    private static boolean isWhitespace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+}
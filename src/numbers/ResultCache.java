@@ -0,0 +1,194 @@
+package numbers;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Remembers the matches of earlier searches so that a repeated or paged search
+ * doesn't scan from its start again. For each filter the cache keeps one range of
+ * numbers that has been scanned completely together with the matches in it.
+ * A search that starts inside or just below that range is served from the cached
+ * matches and scanning resumes where the range ends. The least recently used
+ * filters are evicted once the cached matches exceed the budget. The cache may be
+ * shared by threads, it is locked only to look up and store ranges.
+ */
+public class ResultCache {
+
+    private final long maxCachedMatches;
+    // keyed by the included mask in the high and the excluded mask in the low half
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedMatches;
+    private long hits;
+    private long misses;
+
+    public ResultCache(long maxCachedMatches) {
+        this.maxCachedMatches = maxCachedMatches;
+    }
+
+    // same contract as SearchEngine.search(start, howMany, filter, onMatch) but stops when the budget
+    // is spent, the scans record their work in stats unless it is null
+    public void search(SearchEngine engine, long start, long howMany, PropertyFilter filter,
+                       LongConsumer onMatch, QueryBudget budget, QueryStats stats) {
+        long key = ((long) filter.getIncludedMask() << Integer.SIZE) | filter.getExcludedMask();
+        long count = 0L;
+        long value = start;
+        boolean isHit = false;
+        while (count < howMany && value < Long.MAX_VALUE && !budget.isExpired()) {
+            long needed = howMany - count;
+            Entry entry = this.lookUp(key, value, needed);
+            if (entry != null && entry.start <= value) {
+                // value is cached, entry holds a copy of the cached matches >= value
+                isHit = true;
+                for (int ind = 0; ind < entry.size; ++ind) {
+                    onMatch.accept(entry.matches[ind]);
+                }
+                count += entry.size;
+                value = entry.size == needed ? entry.matches[entry.size - 1] + 1L : entry.stop;
+            } else {
+                // scan up to the cached range above value if there is one
+                long stop = entry == null ? Long.MAX_VALUE : entry.start;
+                Entry scanned = new Entry(value, stop, this.maxCachedMatches);
+                long found = engine.search(value, stop, needed, filter, match -> {
+                    scanned.add(match);
+                    onMatch.accept(match);
+                }, budget, stats);
+                count += found;
+                if (budget.isExpired()) {
+                    // only the numbers up to the last match are known to be scanned
+                    if (found > 0L && !scanned.isOverBudget) {
+                        scanned.stop = scanned.lastMatch + 1L;
+                        this.store(key, scanned);
+                    }
+                    break;
+                }
+                if (found == needed) {
+                    // the numbers after the last match haven't been scanned completely
+                    scanned.stop = scanned.lastMatch + 1L;
+                }
+                if (!scanned.isOverBudget) {
+                    this.store(key, scanned);
+                }
+                value = scanned.stop;
+            }
+        }
+        synchronized (this) {
+            if (isHit) {
+                ++this.hits;
+            } else {
+                ++this.misses;
+            }
+        }
+    }
+
+    /**
+     * If value is inside the cached range of the filter, a copy of the range with at most
+     * limit of its matches >= value. If the cached range is above value, an entry with just
+     * the bounds of that range. Otherwise null.
+     */
+    private synchronized Entry lookUp(long key, long value, long limit) {
+        Entry entry = this.entries.get(key);
+        if (entry == null || value >= entry.stop) {
+            return null;
+        }
+        Entry copy = new Entry(entry.start, entry.stop, 0L);
+        if (value >= entry.start) {
+            int from = Arrays.binarySearch(entry.matches, 0, entry.size, value);
+            from = from >= 0 ? from : -from - 1;
+            copy.size = (int) Math.min(limit, entry.size - from);
+            copy.matches = Arrays.copyOfRange(entry.matches, from, from + copy.size);
+        }
+        return copy;
+    }
+
+    // merges a scanned range with the cached range of its filter if they touch, otherwise replaces it
+    private synchronized void store(long key, Entry scanned) {
+        Entry cached = this.entries.get(key);
+        Entry merged = scanned;
+        if (cached != null && scanned.start <= cached.stop && cached.start <= scanned.stop) {
+            merged = Entry.merge(cached, scanned);
+        }
+        if (cached != null) {
+            this.cachedMatches -= cached.size;
+        }
+        if (merged.size > this.maxCachedMatches) {
+            this.entries.remove(key);
+            return;
+        }
+        this.entries.put(key, merged);
+        this.cachedMatches += merged.size;
+        // evict the least recently used filters first
+        Iterator<Map.Entry<Long, Entry>> iterator = this.entries.entrySet().iterator();
+        while (this.cachedMatches > this.maxCachedMatches && iterator.hasNext()) {
+            Map.Entry<Long, Entry> eldest = iterator.next();
+            if (eldest.getValue() != merged) {
+                this.cachedMatches -= eldest.getValue().size;
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized String report() {
+        return String.format(Locale.ROOT, "result cache: %d hits, %d misses, %d filters, %d matches",
+                this.hits, this.misses, this.entries.size(), this.cachedMatches);
+    }
+
+    // every number of [start, stop) has been tested and matches holds the ones that matched
+    private static class Entry {
+
+        private final long start;
+        private long stop;
+        private long[] matches = new long[16];
+        private int size;
+        private long lastMatch;
+        private final long budget;
+        private boolean isOverBudget;
+
+        private Entry(long start, long stop, long budget) {
+            this.start = start;
+            this.stop = stop;
+            this.budget = budget;
+        }
+
+        private void add(long match) {
+            this.lastMatch = match;
+            if (this.isOverBudget) {
+                return;
+            }
+            if (this.size == this.budget) {
+                // too many to cache, stop collecting but keep the search going
+                this.isOverBudget = true;
+                this.matches = null;
+                return;
+            }
+            if (this.size == this.matches.length) {
+                this.matches = Arrays.copyOf(this.matches, (int) Math.min(2L * this.size, this.budget));
+            }
+            this.matches[this.size++] = match;
+        }
+
+        private static Entry merge(Entry first, Entry second) {
+            Entry merged = new Entry(Math.min(first.start, second.start), Math.max(first.stop, second.stop), 0L);
+            merged.matches = new long[first.size + second.size];
+            int firstInd = 0;
+            int secondInd = 0;
+            while (firstInd < first.size || secondInd < second.size) {
+                long next;
+                if (secondInd == second.size
+                        || firstInd < first.size && first.matches[firstInd] <= second.matches[secondInd]) {
+                    next = first.matches[firstInd++];
+                } else {
+                    next = second.matches[secondInd++];
+                }
+                // a concurrent search may have scanned the same numbers
+                if (merged.size == 0 || merged.matches[merged.size - 1] != next) {
+                    merged.matches[merged.size++] = next;
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package numbers;
+
+// the fallback without the Vector API, the residues are carried along instead of divided out per value
+public class ScalarBlockEvaluator implements BlockEvaluator {
+
+    private final long[] baseModDivisor = new long[10];
+
+    @Override
+    public long evaluate(long base, int includedMask, int excludedMask) {
+        boolean needsGapful = ((includedMask | excludedMask) & Property.GAPFUL.getMask()) != 0;
+        int leadingDigit = needsGapful ? BlockEvaluator.blockLeadingDigit(base) : 0;
+        if (leadingDigit != 0) {
+            for (int lastDigit = 0; lastDigit < 10; ++lastDigit) {
+                this.baseModDivisor[lastDigit] = base % (leadingDigit * 10L + lastDigit);
+            }
+        }
+        int mod7 = (int) (base % 7L);
+        int mod10 = (int) (base % 10L);
+        long bits = 0L;
+        for (int ind = 0; ind < BLOCK_SIZE; ++ind) {
+            int properties = (mod10 & 1) == 0 ? Property.EVEN.getMask() : Property.ODD.getMask();
+            if (mod7 == 0 || mod10 == 7) {
+                properties |= Property.BUZZ.getMask();
+            }
+            if (needsGapful && isGapful(base + ind, ind, leadingDigit, mod10)) {
+                properties |= Property.GAPFUL.getMask();
+            }
+            if ((properties & includedMask) == (includedMask & ARITHMETIC_MASK) && (properties & excludedMask) == 0) {
+                bits |= 1L << ind;
+            }
+            mod7 = mod7 == 6 ? 0 : mod7 + 1;
+            mod10 = mod10 == 9 ? 0 : mod10 + 1;
+        }
+        return bits;
+    }
+
+    private boolean isGapful(long value, int offset, int leadingDigit, int lastDigit) {
+        if (leadingDigit == 0) {
+            // a block where the leading digit changes, or one with values below 100
+            return value >= 100L && value % (DigitArrays.toDigits(value)[0] * 10L + lastDigit) == 0L;
+        }
+        long divisor = leadingDigit * 10L + lastDigit;
+        return (this.baseModDivisor[lastDigit] + offset) % divisor == 0L;
+    }
+}
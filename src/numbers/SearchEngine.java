@@ -0,0 +1,429 @@
+package numbers;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongConsumer;
+
+public class SearchEngine {
+
+    private static final long MIN_CHUNK_SIZE = 256L;
+    private static final long MAX_CHUNK_SIZE = 1L << 22;
+    // how many matches a chunk should contain once the density of matches is known
+    private static final long TARGET_MATCHES_PER_CHUNK = 64L;
+    // below this distance to the next survivor of a block the odometer steps instead of resetting
+    private static final long MAX_STEP_DISTANCE = 16L;
+    // a stepper beats the block evaluator unless the blocks leave this many times fewer candidates
+    private static final double BLOCK_SELECTIVITY_ADVANTAGE = 4.0;
+    private static final long MIN_LEAF_SIZE = 1L << 16;
+    private static final long LEAVES_PER_THREAD = 16L;
+    private final ForkJoinPool pool;
+    private final int maxChunksInFlight;
+    // answers the searches inside its range or null
+    private final PropertyIndex index;
+
+    public SearchEngine(ForkJoinPool pool, PropertyIndex index) {
+        this.pool = pool;
+        this.maxChunksInFlight = 2 * pool.getParallelism();
+        this.index = index;
+    }
+
+    public SearchEngine(PropertyIndex index) {
+        this(ForkJoinPool.commonPool(), index);
+    }
+
+    public SearchEngine() {
+        this(ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Passes the first howMany values >= start that match the filter to onMatch
+     * in ascending order. If an included property has a candidate generator only
+     * its candidates are tested. Otherwise the range is split into chunks that are
+     * scanned in parallel, but the chunks are consumed in order and no match after
+     * the howMany-th one is ever reported. Inside the range of the property index
+     * the chunks read the bitmaps instead of testing the numbers.
+     */
+    public void search(long start, long howMany, PropertyFilter filter, LongConsumer onMatch) {
+        this.search(start, Long.MAX_VALUE, howMany, filter, onMatch, QueryBudget.UNLIMITED, null);
+    }
+
+    /**
+     * Like search(start, howMany, filter, onMatch) but only in [start, stop) and only
+     * while the budget lasts. Returns how many matches were found. The work of the
+     * search is recorded in stats unless it is null.
+     */
+    public long search(long start, long stop, long howMany, PropertyFilter filter,
+                       LongConsumer onMatch, QueryBudget budget, QueryStats stats) {
+        CandidateGenerator generator = CandidateGenerator.forFilter(filter, start);
+        if (generator != null) {
+            return searchCandidates(generator, stop, howMany, filter, onMatch, budget, stats);
+        } else {
+            return this.searchChunks(start, stop, howMany, filter, onMatch, budget, stats);
+        }
+    }
+
+    // the candidates of a generator are sparse, so they are tested on the calling thread
+    private static long searchCandidates(CandidateGenerator generator, long stop, long howMany,
+                                         PropertyFilter filter, LongConsumer onMatch, QueryBudget budget,
+                                         QueryStats stats) {
+        Number number = new Number(0L, stats);
+        PropertyFilter.Evaluator evaluator = filter.newEvaluator();
+        long scanned = 0L;
+        long count = 0L;
+        while (count < howMany) {
+            long candidate = generator.next();
+            if (candidate == CandidateGenerator.EXHAUSTED || candidate >= stop) {
+                break;
+            }
+            if ((++scanned & 0xFFFL) == 0L) {
+                evaluator.report();
+                if (budget.isExpired()) {
+                    break;
+                }
+            }
+            number.reset(candidate);
+            if (evaluator.test(number)) {
+                onMatch.accept(candidate);
+                ++count;
+            }
+        }
+        evaluator.report();
+        if (stats != null) {
+            stats.recordCandidates(scanned);
+            stats.recordMatch(count);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the values in [start, stop) that match the filter without listing
+     * them and, for a histogram, how many of the matches have each property. The
+     * range is split between the threads of the pool, each leaf of the split
+     * counts into its own RangeCounts and the counts are merged as the leaves are
+     * joined. A count that runs out of budget returns what it counted so far.
+     */
+    public RangeCounts count(long start, long stop, PropertyFilter filter, boolean isHistogram,
+                             QueryBudget budget, QueryStats stats) {
+        // enough leaves to balance the threads, but not so many that splitting costs more than counting
+        long leafSize = Math.max(MIN_LEAF_SIZE, (stop - start) / (LEAVES_PER_THREAD * this.pool.getParallelism()));
+        return this.pool.invoke(new CountTask(start, stop, leafSize, isHistogram, filter, this.index, budget, stats));
+    }
+
+    private long searchChunks(long start, long stop, long howMany, PropertyFilter filter,
+                              LongConsumer onMatch, QueryBudget budget, QueryStats stats) {
+        Deque<ChunkTask> chunks = new ArrayDeque<>();
+        long nextChunkStart = start;
+        long chunkSize = MIN_CHUNK_SIZE;
+        long scanned = 0L;
+        long found = 0L;
+        long count = 0L;
+        try {
+            while (count < howMany && !budget.isExpired()) {
+                while (chunks.size() < this.maxChunksInFlight && nextChunkStart < stop) {
+                    long chunkStop = nextChunkStart > stop - chunkSize ? stop : nextChunkStart + chunkSize;
+                    chunks.addLast(ChunkTask.submit(this.pool, nextChunkStart, chunkStop,
+                            filter, this.index, budget, stats));
+                    nextChunkStart = chunkStop;
+                }
+                ChunkTask chunk = chunks.pollFirst();
+                if (chunk == null) {
+                    break;
+                }
+                long[] matches = chunk.join();
+                if (budget.isExpired()) {
+                    // the chunk may have stopped early, so its matches may not be complete
+                    break;
+                }
+                for (int ind = 0; ind < matches.length && count < howMany; ++ind) {
+                    onMatch.accept(matches[ind]);
+                    ++count;
+                }
+                // adapt the size of the next chunks to the density seen so far
+                scanned += chunk.stop - chunk.start;
+                found += matches.length;
+                chunkSize = found == 0L ? chunkSize * 2L : scanned / found * TARGET_MATCHES_PER_CHUNK;
+                chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, chunkSize));
+            }
+        } finally {
+            for (ChunkTask chunk : chunks) {
+                chunk.cancel(false);
+            }
+            if (stats != null) {
+                // the chunks count their own candidates, including the ones scanned ahead
+                stats.recordMatch(count);
+            }
+        }
+        return count;
+    }
+
+    // scans a range with the digit odometer or the block evaluator and passes each match on
+    private abstract static class ScanTask<T> extends RecursiveTask<T> {
+
+        protected final PropertyFilter filter;
+        protected final PropertyIndex index;
+        protected final QueryBudget budget;
+        // null unless the request collects statistics
+        protected final QueryStats stats;
+
+        private ScanTask(PropertyFilter filter, PropertyIndex index, QueryBudget budget, QueryStats stats) {
+            this.filter = filter;
+            this.index = index;
+            this.budget = budget;
+            this.stats = stats;
+        }
+
+        // the number has just passed the filter, so its mutually exclusive properties are settled as in a search
+        protected abstract void onMatch(Number number);
+
+        // returns how many values were scanned before the task was cancelled or ran out of time
+        protected long scan(long from, long to) {
+            if (from >= to) {
+                return 0L;
+            }
+            int blockIncludedMask = this.filter.getIncludedMask() & BlockEvaluator.ARITHMETIC_MASK;
+            int blockExcludedMask = this.filter.getExcludedMask() & BlockEvaluator.ARITHMETIC_MASK;
+            // a stepper skips values for free, but only a block applies every arithmetic term
+            double stepperDensity = CandidateGenerator.periodicDensity(this.filter);
+            if (stepperDensity < 1.0 && stepperDensity
+                    <= BLOCK_SELECTIVITY_ADVANTAGE * BlockEvaluator.passRate(blockIncludedMask, blockExcludedMask)) {
+                return this.scanCandidates(CandidateGenerator.forPeriodicProperties(this.filter, from), from, to);
+            }
+            if ((blockIncludedMask | blockExcludedMask) != 0
+                    && BlockEvaluator.isWorthwhile(blockIncludedMask, blockExcludedMask)) {
+                return this.scanBlocks(from, to, blockIncludedMask, blockExcludedMask);
+            }
+            // walk the range with the digit odometer of a single Number
+            Number number = new Number(from, this.stats);
+            PropertyFilter.Evaluator evaluator = this.filter.newEvaluator();
+            long value = from;
+            for (; value < to; ++value, number.next()) {
+                if ((value & 0xFFFL) == 0L && (this.isCancelled() || this.budget.isExpired())) {
+                    break;
+                }
+                if (evaluator.test(number)) {
+                    this.onMatch(number);
+                }
+            }
+            evaluator.report();
+            if (this.stats != null) {
+                this.stats.recordCandidates(value - from);
+            }
+            return value - from;
+        }
+
+        // the arithmetic properties are tested 64 values at a time and only their survivors get a Number
+        private long scanBlocks(long from, long to, int blockIncludedMask, int blockExcludedMask) {
+            BlockEvaluator blockEvaluator = BlockEvaluator.create();
+            Number number = new Number(from, this.stats);
+            PropertyFilter.Evaluator evaluator = this.filter.newEvaluator();
+            long scanned = 0L;
+            // counted in values scanned, since base + BLOCK_SIZE may overflow at the end of the longs
+            while (scanned < to - from) {
+                if ((scanned & 0xFFFL) == 0L && (this.isCancelled() || this.budget.isExpired())) {
+                    break;
+                }
+                long base = from + scanned;
+                long survivors = blockEvaluator.evaluate(base, blockIncludedMask, blockExcludedMask);
+                if (to - base < BlockEvaluator.BLOCK_SIZE) {
+                    survivors &= (1L << (to - base)) - 1L;
+                }
+                scanned += Math.min(BlockEvaluator.BLOCK_SIZE, to - base);
+                for (; survivors != 0L; survivors &= survivors - 1L) {
+                    moveTo(number, base + Long.numberOfTrailingZeros(survivors));
+                    if (evaluator.test(number)) {
+                        this.onMatch(number);
+                    }
+                }
+            }
+            evaluator.report();
+            if (this.stats != null) {
+                this.stats.recordCandidates(scanned);
+            }
+            return scanned;
+        }
+
+        // the stepper jumps straight to the values its periodic properties allow
+        private long scanCandidates(CandidateGenerator stepper, long from, long to) {
+            Number number = new Number(from, this.stats);
+            PropertyFilter.Evaluator evaluator = this.filter.newEvaluator();
+            long candidates = 0L;
+            long end = to;
+            for (long candidate = stepper.next(); candidate != CandidateGenerator.EXHAUSTED && candidate < to;
+                 candidate = stepper.next()) {
+                if ((++candidates & 0xFFFL) == 0L && (this.isCancelled() || this.budget.isExpired())) {
+                    end = candidate;
+                    break;
+                }
+                moveTo(number, candidate);
+                if (evaluator.test(number)) {
+                    this.onMatch(number);
+                }
+            }
+            evaluator.report();
+            if (this.stats != null) {
+                this.stats.recordCandidates(candidates);
+            }
+            return end - from;
+        }
+
+        // below MAX_STEP_DISTANCE the odometer steps, which is cheaper than a reset
+        private static void moveTo(Number number, long value) {
+            long distance = value - number.getValue();
+            if (distance > MAX_STEP_DISTANCE || distance < 0L) {
+                number.reset(value);
+            } else {
+                for (; distance > 0L; --distance) {
+                    number.next();
+                }
+            }
+        }
+    }
+
+    private static class ChunkTask extends ScanTask<long[]> {
+
+        private final long start;
+        private final long stop;
+        private long[] matches = new long[16];
+        private int size;
+
+        private ChunkTask(long start, long stop, PropertyFilter filter, PropertyIndex index,
+                          QueryBudget budget, QueryStats stats) {
+            super(filter, index, budget, stats);
+            this.start = start;
+            this.stop = stop;
+        }
+
+        private static ChunkTask submit(ForkJoinPool pool, long start, long stop,
+                                        PropertyFilter filter, PropertyIndex index, QueryBudget budget,
+                                        QueryStats stats) {
+            ChunkTask task = new ChunkTask(start, stop, filter, index, budget, stats);
+            pool.execute(task);
+            return task;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (this.index != null && this.start < this.index.getEnd() && this.stop > this.index.getStart()) {
+                // the part of the chunk inside the index is read from the bitmaps
+                long indexedStart = Math.max(this.start, this.index.getStart());
+                long indexedStop = Math.min(this.stop, this.index.getEnd());
+                this.scan(this.start, indexedStart);
+                this.index.forEachMatch(indexedStart, indexedStop,
+                        this.filter.getIncludedMask(), this.filter.getExcludedMask(), this::addMatch);
+                if (this.stats != null) {
+                    this.stats.recordCandidates(indexedStop - indexedStart);
+                }
+                this.scan(indexedStop, this.stop);
+            } else {
+                this.scan(this.start, this.stop);
+            }
+            return Arrays.copyOf(this.matches, this.size);
+        }
+
+        @Override
+        protected void onMatch(Number number) {
+            this.addMatch(number.getValue());
+        }
+
+        private void addMatch(long value) {
+            if (this.size == this.matches.length) {
+                this.matches = Arrays.copyOf(this.matches, this.size * 2);
+            }
+            this.matches[this.size++] = value;
+        }
+    }
+
+    // counts a range by splitting it in halves down to leaves of leafSize values
+    private static class CountTask extends ScanTask<RangeCounts> {
+
+        private final long start;
+        private final long stop;
+        private final long leafSize;
+        private final boolean isHistogram;
+        private RangeCounts counts;
+
+        private CountTask(long start, long stop, long leafSize, boolean isHistogram,
+                          PropertyFilter filter, PropertyIndex index, QueryBudget budget, QueryStats stats) {
+            super(filter, index, budget, stats);
+            this.start = start;
+            this.stop = stop;
+            this.leafSize = leafSize;
+            this.isHistogram = isHistogram;
+        }
+
+        @Override
+        protected RangeCounts compute() {
+            if (this.stop - this.start > this.leafSize && !this.budget.isExpired()) {
+                long middle = this.start + (this.stop - this.start) / 2L;
+                CountTask left = new CountTask(this.start, middle, this.leafSize, this.isHistogram,
+                        this.filter, this.index, this.budget, this.stats);
+                left.fork();
+                RangeCounts rightCounts = new CountTask(middle, this.stop, this.leafSize, this.isHistogram,
+                        this.filter, this.index, this.budget, this.stats).compute();
+                return left.join().merge(rightCounts);
+            }
+            this.counts = new RangeCounts();
+            if (this.index != null && this.start < this.index.getEnd() && this.stop > this.index.getStart()) {
+                long indexedStart = Math.max(this.start, this.index.getStart());
+                long indexedStop = Math.min(this.stop, this.index.getEnd());
+                this.count(this.start, indexedStart);
+                if (this.isHistogram) {
+                    // only the matches are read from the bitmaps, their other properties are tested
+                    Number number = new Number(0L, this.stats);
+                    this.index.forEachMatch(indexedStart, indexedStop,
+                            this.filter.getIncludedMask(), this.filter.getExcludedMask(), value -> {
+                                number.reset(value);
+                                this.filter.test(number);
+                                this.onMatch(number);
+                            });
+                } else {
+                    this.counts.addMatches(this.index.count(indexedStart, indexedStop,
+                            this.filter.getIncludedMask(), this.filter.getExcludedMask()));
+                }
+                this.counts.addCounted(indexedStop - indexedStart);
+                this.count(indexedStop, this.stop);
+            } else {
+                this.count(this.start, this.stop);
+            }
+            return this.counts;
+        }
+
+        private void count(long from, long to) {
+            CandidateGenerator generator = from < to ? CandidateGenerator.forFilter(this.filter, from) : null;
+            if (generator == null) {
+                this.counts.addCounted(this.scan(from, to));
+                return;
+            }
+            // only the candidates of a sparse property are tested
+            Number number = new Number(0L, this.stats);
+            PropertyFilter.Evaluator evaluator = this.filter.newEvaluator();
+            long candidates = 0L;
+            // where the count stopped, before to if it ran out of budget
+            long end = to;
+            for (long candidate = generator.next(); candidate != CandidateGenerator.EXHAUSTED && candidate < to;
+                 candidate = generator.next()) {
+                if ((++candidates & 0xFFFL) == 0L && this.budget.isExpired()) {
+                    end = candidate;
+                    break;
+                }
+                number.reset(candidate);
+                if (evaluator.test(number)) {
+                    this.onMatch(number);
+                }
+            }
+            evaluator.report();
+            if (this.stats != null) {
+                this.stats.recordCandidates(candidates);
+            }
+            this.counts.addCounted(end - from);
+        }
+
+        @Override
+        protected void onMatch(Number number) {
+            this.counts.addMatch(this.isHistogram ? number.getProperties() : 0);
+        }
+    }
+}
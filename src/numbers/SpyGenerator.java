@@ -0,0 +1,164 @@
+package numbers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Lists the spy numbers, whose digit sum equals their digit product. Spy numbers
+ * have no 0 digit and only a handful of digits above 1, so for every length the
+ * digit multisets that qualify are enumerated once and their permutations are
+ * merged in ascending order.
+ */
+public class SpyGenerator implements CandidateGenerator {
+
+    private static final int MAX_LENGTH = 19;
+    // the qualifying digit counts for each length, indexed by digit
+    private static final List<List<int[]>> MULTISETS_BY_LENGTH = new ArrayList<>();
+    private final PriorityQueue<Permutation> permutations = new PriorityQueue<>();
+    private int length;
+
+    static {
+        for (int length = 0; length <= MAX_LENGTH; ++length) {
+            MULTISETS_BY_LENGTH.add(new ArrayList<>());
+        }
+        collectMultisets(new int[10], 2, 0, 1L, 0L);
+    }
+
+    public SpyGenerator(long start) {
+        int[] bound = DigitArrays.toDigits(Math.max(start, 0L));
+        this.length = bound.length;
+        for (int[] counts : MULTISETS_BY_LENGTH.get(this.length)) {
+            int[] digits = smallestPermutationAtLeast(counts, bound);
+            if (digits != null) {
+                this.permutations.add(new Permutation(digits));
+            }
+        }
+        this.fillUpIfEmpty();
+    }
+
+    @Override
+    public long next() {
+        Permutation permutation = this.permutations.poll();
+        if (permutation == null || !DigitArrays.fitsInLong(permutation.digits)) {
+            this.permutations.clear();
+            return EXHAUSTED;
+        }
+        long value = permutation.value;
+        if (permutation.advance()) {
+            this.permutations.add(permutation);
+        }
+        this.fillUpIfEmpty();
+        return value;
+    }
+
+    // once a length runs out every permutation of the next length is larger
+    private void fillUpIfEmpty() {
+        while (this.permutations.isEmpty() && this.length < MAX_LENGTH) {
+            ++this.length;
+            for (int[] counts : MULTISETS_BY_LENGTH.get(this.length)) {
+                this.permutations.add(new Permutation(ascendingDigits(counts, this.length)));
+            }
+        }
+    }
+
+    // picks the digits above 1 in ascending order, the number of 1s is then fixed by sum == product
+    private static void collectMultisets(int[] counts, int minDigit, int bigDigits, long product, long sum) {
+        long ones = product - sum;
+        if (bigDigits + ones <= MAX_LENGTH) {
+            int[] multiset = counts.clone();
+            multiset[1] = (int) ones;
+            MULTISETS_BY_LENGTH.get(bigDigits + (int) ones).add(multiset);
+        }
+        for (int digit = minDigit; digit <= 9; ++digit) {
+            long nextProduct = product * digit;
+            long nextSum = sum + digit;
+            // with at least one digit above 1 the gap product - sum never shrinks again
+            if (nextProduct - nextSum > MAX_LENGTH || bigDigits + 1 > MAX_LENGTH) {
+                break;
+            }
+            ++counts[digit];
+            collectMultisets(counts, digit, bigDigits + 1, nextProduct, nextSum);
+            --counts[digit];
+        }
+    }
+
+    private static int[] ascendingDigits(int[] counts, int length) {
+        int[] digits = new int[length];
+        int pos = 0;
+        for (int digit = 1; digit <= 9; ++digit) {
+            for (int ind = 0; ind < counts[digit]; ++ind) {
+                digits[pos++] = digit;
+            }
+        }
+        return digits;
+    }
+
+    // the smallest arrangement of the digit counts that is >= bound or null if there is none
+    private static int[] smallestPermutationAtLeast(int[] counts, int[] bound) {
+        int[] remaining = counts.clone();
+        int matched = 0;
+        while (matched < bound.length && remaining[bound[matched]] > 0) {
+            --remaining[bound[matched++]];
+        }
+        if (matched == bound.length) {
+            return bound.clone();
+        }
+        // go above the bound at the last position where a larger digit is still available
+        for (int pos = matched; pos >= 0; --pos) {
+            if (pos < matched) {
+                ++remaining[bound[pos]];
+            }
+            for (int digit = bound[pos] + 1; digit <= 9; ++digit) {
+                if (remaining[digit] > 0) {
+                    --remaining[digit];
+                    int[] digits = new int[bound.length];
+                    System.arraycopy(bound, 0, digits, 0, pos);
+                    digits[pos] = digit;
+                    int[] rest = ascendingDigits(remaining, bound.length - pos - 1);
+                    System.arraycopy(rest, 0, digits, pos + 1, rest.length);
+                    return digits;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static class Permutation implements Comparable<Permutation> {
+
+        private final int[] digits;
+        private long value;
+
+        private Permutation(int[] digits) {
+            this.digits = digits;
+            this.value = DigitArrays.fitsInLong(digits) ? DigitArrays.toValue(digits) : Long.MAX_VALUE;
+        }
+
+        // moves to the next larger arrangement of the same digits if there is one
+        private boolean advance() {
+            int pivot = this.digits.length - 2;
+            while (pivot >= 0 && this.digits[pivot] >= this.digits[pivot + 1]) {
+                --pivot;
+            }
+            if (pivot < 0) {
+                return false;
+            }
+            int swap = this.digits.length - 1;
+            while (this.digits[swap] <= this.digits[pivot]) {
+                --swap;
+            }
+            int temp = this.digits[pivot];
+            this.digits[pivot] = this.digits[swap];
+            this.digits[swap] = temp;
+            Arrays.sort(this.digits, pivot + 1, this.digits.length);
+            this.value = DigitArrays.fitsInLong(this.digits) ? DigitArrays.toValue(this.digits) : Long.MAX_VALUE;
+            return true;
+        }
+
+        @Override
+        public int compareTo(Permutation other) {
+            return Arrays.compare(this.digits, other.digits);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package numbers;
+
+/**
+ * Steps through k^2 - offset for consecutive k: offset 0 lists the squares
+ * and offset 1 lists the sunny numbers.
+ */
+public class SquareGenerator implements CandidateGenerator {
+
+    private final long offset;
+    private long root;
+
+    public SquareGenerator(long start, long offset) {
+        this.offset = offset;
+        long target = Math.max(start, 0L);
+        if (target > Long.MAX_VALUE - offset) {
+            // start + offset overflows, so no root^2 above it fits in a long
+            this.root = Number.MAX_ROOT + 1L;
+            return;
+        }
+        // the smallest root with root^2 - offset >= start
+        target += offset;
+        this.root = Number.isqrt(target);
+        if (this.root * this.root < target) {
+            ++this.root;
+        }
+    }
+
+    @Override
+    public long next() {
+        if (this.root > Number.MAX_ROOT) {
+            return EXHAUSTED;
+        }
+        long square = this.root * this.root;
+        ++this.root;
+        return square - this.offset;
+    }
+}
@@ -0,0 +1,99 @@
+package numbers;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluates EVEN, ODD and BUZZ in vector lanes. The lanes never divide: their
+ * residues mod 7 and mod 10 come from the residues of the block base plus
+ * precomputed lane offset residues. GAPFUL needs a divisor per lane, which costs
+ * more in gathers than it saves, so it is only tested for the surviving lanes.
+ */
+public class VectorBlockEvaluator implements BlockEvaluator {
+
+    // JDK 17 miscompiles some mask operations with 512 bit vectors
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_256;
+    private static final long[] LANE_BITS = new long[BLOCK_SIZE];
+    private static final long[] LANE_MOD_7 = new long[BLOCK_SIZE];
+    private static final long[] LANE_MOD_10 = new long[BLOCK_SIZE];
+    private final long[] baseModDivisor = new long[10];
+    private final ScalarBlockEvaluator scalarEvaluator = new ScalarBlockEvaluator();
+
+    static {
+        for (int ind = 0; ind < BLOCK_SIZE; ++ind) {
+            LANE_BITS[ind] = 1L << ind;
+            LANE_MOD_7[ind] = ind % 7;
+            LANE_MOD_10[ind] = ind % 10;
+        }
+    }
+
+    @Override
+    public long evaluate(long base, int includedMask, int excludedMask) {
+        boolean needsGapful = ((includedMask | excludedMask) & Property.GAPFUL.getMask()) != 0;
+        int leadingDigit = needsGapful ? BlockEvaluator.blockLeadingDigit(base) : 0;
+        if (needsGapful && leadingDigit == 0) {
+            // rare: the leading digit changes inside the block
+            return this.scalarEvaluator.evaluate(base, includedMask, excludedMask);
+        }
+        if (needsGapful) {
+            for (int lastDigit = 0; lastDigit < 10; ++lastDigit) {
+                this.baseModDivisor[lastDigit] = base % (leadingDigit * 10L + lastDigit);
+            }
+        }
+        long baseMod7 = base % 7L;
+        long baseMod10 = base % 10L;
+        long bits = 0L;
+        for (int ind = 0; ind < BLOCK_SIZE; ind += SPECIES.length()) {
+            LongVector mod7 = LongVector.fromArray(SPECIES, LANE_MOD_7, ind).add(baseMod7);
+            // blends instead of masked subtractions, which JDK 17 doesn't compile to vector code
+            mod7 = mod7.blend(mod7.sub(7L), mod7.compare(VectorOperators.GE, 7L));
+            LongVector mod10 = LongVector.fromArray(SPECIES, LANE_MOD_10, ind).add(baseMod10);
+            mod10 = mod10.blend(mod10.sub(10L), mod10.compare(VectorOperators.GE, 10L));
+            LongVector parities = mod10.and(1L);
+            // every complement is a compare of its own rather than VectorMask.not or andNot,
+            // which JDK 17 compiles wrongly once they are hot
+            VectorMask<Long> isEven = parities.compare(VectorOperators.EQ, 0L);
+            VectorMask<Long> isOdd = parities.compare(VectorOperators.NE, 0L);
+            VectorMask<Long> matches = SPECIES.maskAll(true);
+            matches = apply(matches, isEven, isOdd, Property.EVEN, includedMask, excludedMask);
+            matches = apply(matches, isOdd, isEven, Property.ODD, includedMask, excludedMask);
+            if (((includedMask | excludedMask) & Property.BUZZ.getMask()) != 0) {
+                VectorMask<Long> isBuzz = mod7.compare(VectorOperators.EQ, 0L)
+                        .or(mod10.compare(VectorOperators.EQ, 7L));
+                VectorMask<Long> isNotBuzz = mod7.compare(VectorOperators.NE, 0L)
+                        .and(mod10.compare(VectorOperators.NE, 7L));
+                matches = apply(matches, isBuzz, isNotBuzz, Property.BUZZ, includedMask, excludedMask);
+            }
+            // an OR reduction, since JDK 17 doesn't compile VectorMask.toLong to vector code
+            bits |= LongVector.zero(SPECIES).blend(LongVector.fromArray(SPECIES, LANE_BITS, ind), matches)
+                    .reduceLanes(VectorOperators.OR);
+        }
+        return needsGapful ? this.applyGapful(bits, (int) baseMod10, leadingDigit, includedMask) : bits;
+    }
+
+    private long applyGapful(long bits, int baseLastDigit, int leadingDigit, int includedMask) {
+        boolean isIncluded = (includedMask & Property.GAPFUL.getMask()) != 0;
+        for (long lanes = bits; lanes != 0L; lanes &= lanes - 1L) {
+            int ind = Long.numberOfTrailingZeros(lanes);
+            int lastDigit = (baseLastDigit + ind) % 10;
+            boolean isGapful = (this.baseModDivisor[lastDigit] + ind) % (leadingDigit * 10L + lastDigit) == 0L;
+            if (isGapful != isIncluded) {
+                bits &= ~(1L << ind);
+            }
+        }
+        return bits;
+    }
+
+    private static VectorMask<Long> apply(VectorMask<Long> matches, VectorMask<Long> hasProperty,
+                                          VectorMask<Long> lacksProperty, Property property,
+                                          int includedMask, int excludedMask) {
+        if ((includedMask & property.getMask()) != 0) {
+            return matches.and(hasProperty);
+        } else if ((excludedMask & property.getMask()) != 0) {
+            return matches.and(lacksProperty);
+        }
+        return matches;
+    }
+}
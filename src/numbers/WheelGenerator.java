@@ -0,0 +1,69 @@
+package numbers;
+
+/**
+ * Steps through the residues mod 70 that can satisfy the EVEN, ODD and BUZZ
+ * terms of a filter: the parity is settled by the value mod 2 and buzz by the
+ * value mod 7 and the last digit, and 70 is a multiple of 2, 7 and 10.
+ */
+public class WheelGenerator implements CandidateGenerator {
+
+    static final int PERIOD = 70;
+    static final int WHEEL_MASK = Property.EVEN.getMask() | Property.ODD.getMask() | Property.BUZZ.getMask();
+    // the distance from each residue to the next allowed residue
+    private final int[] gaps = new int[PERIOD];
+    private long next;
+
+    public WheelGenerator(long start, int includedMask, int excludedMask) {
+        boolean hasAllowedResidue = false;
+        for (int residue = 0; residue < PERIOD; ++residue) {
+            hasAllowedResidue |= isAllowed(residue, includedMask, excludedMask);
+            for (int gap = 1; gap <= PERIOD; ++gap) {
+                if (isAllowed((residue + gap) % PERIOD, includedMask, excludedMask)) {
+                    this.gaps[residue] = gap;
+                    break;
+                }
+            }
+        }
+        if (!hasAllowedResidue) {
+            this.next = EXHAUSTED;
+            return;
+        }
+        // the first allowed value >= start
+        long value = Math.max(start, 0L);
+        int residue = (int) (value % PERIOD);
+        this.next = isAllowed(residue, includedMask, excludedMask) ? value : add(value, this.gaps[residue]);
+    }
+
+    // the share of the values that pass the wheel
+    static double density(int includedMask, int excludedMask) {
+        int allowed = 0;
+        for (int residue = 0; residue < PERIOD; ++residue) {
+            if (isAllowed(residue, includedMask, excludedMask)) {
+                ++allowed;
+            }
+        }
+        return (double) allowed / PERIOD;
+    }
+
+    private static boolean isAllowed(int residue, int includedMask, int excludedMask) {
+        int properties = residue % 2 == 0 ? Property.EVEN.getMask() : Property.ODD.getMask();
+        if (residue % 7 == 0 || residue % 10 == 7) {
+            properties |= Property.BUZZ.getMask();
+        }
+        return (properties & includedMask & WHEEL_MASK) == (includedMask & WHEEL_MASK)
+                && (properties & excludedMask & WHEEL_MASK) == 0;
+    }
+
+    private static long add(long value, int gap) {
+        return value > Long.MAX_VALUE - gap ? EXHAUSTED : value + gap;
+    }
+
+    @Override
+    public long next() {
+        long value = this.next;
+        if (value != EXHAUSTED) {
+            this.next = add(value, this.gaps[(int) (value % PERIOD)]);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,57 @@
+package numbers;
+
+import static numbers.GeneratorAssertions.assertListsExactly;
+import static numbers.GeneratorAssertions.has;
+import static numbers.GeneratorAssertions.windowEnd;
+
+import java.util.Random;
+import java.util.function.LongPredicate;
+import org.junit.jupiter.api.Test;
+
+class GapfulGeneratorTest {
+
+    private static final int[] LAST_DIGITS = {
+            GapfulGenerator.ALL_LAST_DIGITS, GapfulGenerator.EVEN_LAST_DIGITS, GapfulGenerator.ODD_LAST_DIGITS,
+    };
+
+    private static void assertGapful(long start, long size) {
+        LongPredicate isGapful = has(Property.GAPFUL);
+        for (int lastDigits : LAST_DIGITS) {
+            LongPredicate isListed = value -> (lastDigits & 1 << (int) (value % 10L)) != 0 && isGapful.test(value);
+            assertListsExactly(new GapfulGenerator(start, lastDigits), start, windowEnd(start, size), isListed);
+        }
+    }
+
+    @Test
+    void listsTheGapfulNumbersFromTheFirstOne() {
+        assertGapful(0L, 20_000L);
+    }
+
+    @Test
+    void listsAcrossNewLengths() {
+        for (long start : new long[] {90L, 99L, 100L, 950L, 999L, 1_000L, 9_990L, 99_999L, 999_999_999_990L}) {
+            assertGapful(start, 2_000L);
+        }
+    }
+
+    @Test
+    void listsAcrossNewLeadingDigits() {
+        for (long start : new long[] {190L, 1_990L, 8_999L, 39_950L, 8_999_999_999_999_999_000L}) {
+            assertGapful(start, 2_000L);
+        }
+    }
+
+    @Test
+    void listsUpToTheLargestLong() {
+        assertGapful(Long.MAX_VALUE - 100_000L, 100_001L);
+        assertGapful(Long.MAX_VALUE, 1L);
+    }
+
+    @Test
+    void listsFromRandomStarts() {
+        Random random = new Random(42L);
+        for (int ind = 0; ind < 200; ++ind) {
+            assertGapful(random.nextLong() >>> 1 + random.nextInt(62), 1_000L);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package numbers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+
+/**
+ * Checks candidate generators against a brute-force test of every value in a range.
+ */
+final class GeneratorAssertions {
+
+    private GeneratorAssertions() {
+    }
+
+    // a brute-force test of a property through Number, which doesn't share any code with the generators
+    static LongPredicate has(Property property) {
+        Number number = new Number(0L);
+        return value -> {
+            number.reset(value);
+            return number.getPropertyValue(property);
+        };
+    }
+
+    // the end of a window of size values from start, capped at Long.MAX_VALUE
+    static long windowEnd(long start, long size) {
+        return start > Long.MAX_VALUE - size ? Long.MAX_VALUE : start + size - 1L;
+    }
+
+    /**
+     * The first values a generator lists from random starts of every length, leaving out
+     * the starts after its last value. A sparse property is checked in windows around
+     * them, a window anywhere would mostly be empty.
+     */
+    static long[] firstListedFromRandomStarts(LongFunction<CandidateGenerator> generatorAt, int count) {
+        Random random = new Random(42L);
+        long[] listed = new long[count];
+        int size = 0;
+        for (int ind = 0; ind < count; ++ind) {
+            long value = generatorAt.apply(random.nextLong() >>> 1 + random.nextInt(62)).next();
+            if (value != CandidateGenerator.EXHAUSTED) {
+                listed[size++] = value;
+            }
+        }
+        return Arrays.copyOf(listed, size);
+    }
+
+    /**
+     * Asserts that a generator created at first lists exactly the values of [first, last]
+     * that pass the brute-force test, in ascending order, and that it is exhausted after
+     * them if last is Long.MAX_VALUE.
+     */
+    static void assertListsExactly(CandidateGenerator generator, long first, long last, LongPredicate isListed) {
+        long[] expected = new long[16];
+        int expectedSize = 0;
+        for (long value = first; ; ++value) {
+            if (isListed.test(value)) {
+                if (expectedSize == expected.length) {
+                    expected = Arrays.copyOf(expected, 2 * expectedSize);
+                }
+                expected[expectedSize++] = value;
+            }
+            if (value == last) {
+                break;
+            }
+        }
+        long[] listed = new long[expectedSize];
+        int listedSize = 0;
+        long candidate = generator.next();
+        for (; candidate != CandidateGenerator.EXHAUSTED && candidate <= last; candidate = generator.next()) {
+            if (listedSize == listed.length) {
+                listed = Arrays.copyOf(listed, 2 * listedSize + 1);
+            }
+            listed[listedSize++] = candidate;
+        }
+        String range = "[" + first + ", " + last + "]";
+        assertArrayEquals(Arrays.copyOf(expected, expectedSize), Arrays.copyOf(listed, listedSize), range);
+        if (last == Long.MAX_VALUE) {
+            assertEquals(CandidateGenerator.EXHAUSTED, candidate, "past " + range);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package numbers;
+
+import static numbers.GeneratorAssertions.assertListsExactly;
+import static numbers.GeneratorAssertions.firstListedFromRandomStarts;
+import static numbers.GeneratorAssertions.has;
+import static numbers.GeneratorAssertions.windowEnd;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class JumpingGeneratorTest {
+
+    // 89898... is the largest jumping number below Long.MAX_VALUE = 92233...
+    private static final long LARGEST_JUMPING = 8_989_898_989_898_989_898L;
+
+    private static void assertJumping(long start, long size) {
+        assertListsExactly(new JumpingGenerator(start), start, windowEnd(start, size), has(Property.JUMPING));
+    }
+
+    @Test
+    void listsTheJumpingNumbersFromTheFirstOne() {
+        assertJumping(0L, 200_000L);
+    }
+
+    @Test
+    void listsAcrossNewLengths() {
+        for (long start : new long[] {9L, 98L, 9_876L, 99_990L, 987_654_321L, 9_898_989_898L}) {
+            assertJumping(start, 20_000L);
+        }
+    }
+
+    @Test
+    void listsFromStartsInsideALength() {
+        for (long start : new long[] {4_321L, 54_566L, 123_456_789L, 3_456_543_210L, 12_121_212_121_212_121L}) {
+            assertJumping(Math.max(start - 5_000L, 0L), 10_000L);
+        }
+        for (long listed : firstListedFromRandomStarts(JumpingGenerator::new, 100)) {
+            assertJumping(Math.max(listed - 5_000L, 0L), 10_000L);
+        }
+    }
+
+    @Test
+    void listsUpToTheLargestLong() {
+        assertJumping(LARGEST_JUMPING - 10_000L, 20_000L);
+        assertJumping(Long.MAX_VALUE - 100_000L, 100_001L);
+        assertJumping(Long.MAX_VALUE, 1L);
+        JumpingGenerator generator = new JumpingGenerator(LARGEST_JUMPING);
+        assertEquals(LARGEST_JUMPING, generator.next());
+        assertEquals(CandidateGenerator.EXHAUSTED, generator.next());
+    }
+}
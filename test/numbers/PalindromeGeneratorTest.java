@@ -0,0 +1,51 @@
+package numbers;
+
+import static numbers.GeneratorAssertions.assertListsExactly;
+import static numbers.GeneratorAssertions.firstListedFromRandomStarts;
+import static numbers.GeneratorAssertions.has;
+import static numbers.GeneratorAssertions.windowEnd;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PalindromeGeneratorTest {
+
+    // the first half of Long.MAX_VALUE = 9223372036854775807 mirrored
+    private static final long LARGEST_PALINDROME = 9_223_372_036_302_733_229L;
+
+    private static void assertPalindromes(long start, long size) {
+        assertListsExactly(new PalindromeGenerator(start), start, windowEnd(start, size), has(Property.PALINDROMIC));
+    }
+
+    @Test
+    void listsThePalindromesFromTheFirstOne() {
+        assertPalindromes(0L, 200_000L);
+    }
+
+    @Test
+    void listsAcrossNewLengths() {
+        for (long start : new long[] {9L, 95L, 990L, 99_990L, 999_990L, 9_999_999_990L, 999_999_999_999_999_990L}) {
+            assertPalindromes(start, 20_000L);
+        }
+    }
+
+    @Test
+    void listsFromStartsInsideALength() {
+        for (long start : new long[] {12_345L, 1_234_567L, 98_765_432_123L, 5_000_000_000_000_000_000L}) {
+            assertPalindromes(start, 100_000L);
+        }
+        for (long listed : firstListedFromRandomStarts(PalindromeGenerator::new, 100)) {
+            assertPalindromes(Math.max(listed - 5_000L, 0L), 10_000L);
+        }
+    }
+
+    @Test
+    void listsUpToTheLargestLong() {
+        assertPalindromes(LARGEST_PALINDROME - 10_000L, 20_000L);
+        assertPalindromes(Long.MAX_VALUE - 100_000L, 100_001L);
+        assertPalindromes(Long.MAX_VALUE, 1L);
+        PalindromeGenerator generator = new PalindromeGenerator(LARGEST_PALINDROME);
+        assertEquals(LARGEST_PALINDROME, generator.next());
+        assertEquals(CandidateGenerator.EXHAUSTED, generator.next());
+    }
+}
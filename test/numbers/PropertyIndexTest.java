@@ -0,0 +1,122 @@
+package numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PropertyIndexTest {
+
+    private static final long START = 1_000L;
+    private static final long END = 10_000L;
+    // where the start and the end are in the header, after the magic
+    private static final long START_POSITION = Long.BYTES;
+    private static final long END_POSITION = 2L * Long.BYTES;
+
+    @TempDir
+    Path directory;
+
+    private Path buildIndex() throws IOException {
+        Path path = this.directory.resolve("numbers.idx");
+        PropertyIndex.build(path, START, END, ForkJoinPool.commonPool());
+        return path;
+    }
+
+    private static void writeLong(Path path, long position, long value) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, value), position);
+        }
+    }
+
+    private static void setLength(Path path, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            if (length < channel.size()) {
+                channel.truncate(length);
+            } else {
+                channel.write(ByteBuffer.allocate((int) (length - channel.size())), channel.size());
+            }
+        }
+    }
+
+    private static void assertRejected(Path path, String problem) {
+        IOException e = assertThrows(IOException.class, () -> PropertyIndex.open(path));
+        assertTrue(e.getMessage().startsWith("The property index file is " + problem), e.getMessage());
+    }
+
+    @Test
+    void openedIndexCountsLikeTheFilter() throws IOException {
+        PropertyIndex index = PropertyIndex.open(this.buildIndex());
+        // the range is widened to whole words
+        assertEquals(960L, index.getStart());
+        assertEquals(10_048L, index.getEnd());
+        int includedMask = Property.BUZZ.getMask() | Property.PALINDROMIC.getMask();
+        int excludedMask = Property.EVEN.getMask();
+        long expected = 0L;
+        for (long value = START; value < END; ++value) {
+            Number number = new Number(value);
+            if (number.getPropertyValue(Property.BUZZ) && number.getPropertyValue(Property.PALINDROMIC)
+                    && !number.getPropertyValue(Property.EVEN)) {
+                ++expected;
+            }
+        }
+        assertEquals(expected, index.count(START, END, includedMask, excludedMask));
+    }
+
+    @Test
+    void rejectsAnEmptyOrReversedRange() throws IOException {
+        Path path = this.buildIndex();
+        writeLong(path, END_POSITION, 960L);
+        assertRejected(path, "corrupt");
+        writeLong(path, END_POSITION, 896L);
+        assertRejected(path, "corrupt");
+    }
+
+    @Test
+    void rejectsARangeOfPartialWords() throws IOException {
+        Path path = this.buildIndex();
+        writeLong(path, START_POSITION, 1_000L);
+        assertRejected(path, "corrupt");
+        writeLong(path, START_POSITION, 960L);
+        writeLong(path, END_POSITION, 10_000L);
+        assertRejected(path, "corrupt");
+    }
+
+    @Test
+    void rejectsARangeWiderThanTheFile() throws IOException {
+        Path path = this.buildIndex();
+        writeLong(path, END_POSITION, 10_048L + Long.SIZE);
+        assertRejected(path, "truncated");
+        writeLong(path, START_POSITION, Long.MIN_VALUE);
+        writeLong(path, END_POSITION, Long.MAX_VALUE - Long.SIZE + 1L);
+        assertRejected(path, "corrupt");
+        writeLong(path, START_POSITION, 0L);
+        writeLong(path, END_POSITION, Long.MAX_VALUE - Long.SIZE + 1L);
+        assertRejected(path, "truncated");
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path path = this.buildIndex();
+        long length = path.toFile().length();
+        setLength(path, length - 1L);
+        assertRejected(path, "truncated");
+        setLength(path, 4L * Long.BYTES);
+        assertRejected(path, "truncated");
+    }
+
+    @Test
+    void rejectsTrailingBytes() throws IOException {
+        Path path = this.buildIndex();
+        setLength(path, path.toFile().length() + 1L);
+        assertRejected(path, "corrupt");
+    }
+}
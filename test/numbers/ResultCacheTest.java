@@ -0,0 +1,165 @@
+package numbers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+import org.junit.jupiter.api.Test;
+
+class ResultCacheTest {
+
+    private static final PropertyFilter BUZZ_NOT_EVEN = filter("buzz -even");
+    private static final PropertyFilter ODD_SQUARE = filter("odd square");
+    private static final PropertyFilter SUNNY = filter("sunny");
+
+    // the ranges the cache asked the engine to scan
+    private static class RecordingEngine extends SearchEngine {
+
+        private final List<Long> scanStarts = new ArrayList<>();
+
+        @Override
+        public long search(long start, long stop, long howMany, PropertyFilter filter,
+                           LongConsumer onMatch, QueryBudget budget, QueryStats stats) {
+            this.scanStarts.add(start);
+            return super.search(start, stop, howMany, filter, onMatch, budget, stats);
+        }
+    }
+
+    private final RecordingEngine engine = new RecordingEngine();
+
+    private static PropertyFilter filter(String properties) {
+        return QueryParser.parse("1 1 " + properties).getFilter();
+    }
+
+    // the first howMany values >= start that pass the filter
+    private static long[] bruteForce(long start, int howMany, PropertyFilter filter) {
+        long[] matches = new long[howMany];
+        int size = 0;
+        for (long value = start; size < howMany; ++value) {
+            if (filter.test(new Number(value))) {
+                matches[size++] = value;
+            }
+        }
+        return matches;
+    }
+
+    private long[] search(ResultCache cache, long start, int howMany, PropertyFilter filter) {
+        long[] matches = new long[howMany];
+        int[] size = new int[1];
+        cache.search(this.engine, start, howMany, filter, match -> matches[size[0]++] = match,
+                QueryBudget.UNLIMITED, null);
+        return Arrays.copyOf(matches, size[0]);
+    }
+
+    private void assertSearch(ResultCache cache, long start, int howMany, PropertyFilter filter) {
+        assertArrayEquals(bruteForce(start, howMany, filter), this.search(cache, start, howMany, filter),
+                start + " " + howMany);
+    }
+
+    private void assertScanStarts(Long... starts) {
+        assertEquals(List.of(starts), this.engine.scanStarts);
+        this.engine.scanStarts.clear();
+    }
+
+    @Test
+    void repeatedSearchIsServedFromTheCache() {
+        ResultCache cache = new ResultCache(1_000L);
+        assertSearch(cache, 1_000L, 10, BUZZ_NOT_EVEN);
+        assertScanStarts(1_000L);
+        assertSearch(cache, 1_000L, 10, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1_000L, 5, BUZZ_NOT_EVEN);
+        assertScanStarts();
+        assertEquals("result cache: 2 hits, 1 misses, 1 filters, 10 matches", cache.report());
+    }
+
+    @Test
+    void partialHitResumesAfterTheCachedRange() {
+        ResultCache cache = new ResultCache(1_000L);
+        long[] first = bruteForce(1_000L, 20, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1_000L, 10, BUZZ_NOT_EVEN);
+        assertScanStarts(1_000L);
+        assertSearch(cache, 1_000L, 20, BUZZ_NOT_EVEN);
+        assertScanStarts(first[9] + 1L);
+        assertEquals("result cache: 1 hits, 1 misses, 1 filters, 20 matches", cache.report());
+    }
+
+    @Test
+    void overlappingSearchStartsInsideTheCachedRange() {
+        ResultCache cache = new ResultCache(1_000L);
+        long[] first = bruteForce(1_000L, 10, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1_000L, 10, BUZZ_NOT_EVEN);
+        // between two cached matches
+        assertSearch(cache, first[4] + 1L, 15, BUZZ_NOT_EVEN);
+        assertScanStarts(1_000L, first[9] + 1L);
+        assertSearch(cache, 1_000L, 20, BUZZ_NOT_EVEN);
+        assertScanStarts();
+    }
+
+    @Test
+    void searchBelowTheCachedRangeScansUpToIt() {
+        ResultCache cache = new ResultCache(1_000L);
+        long[] above = bruteForce(2_000L, 10, BUZZ_NOT_EVEN);
+        assertSearch(cache, 2_000L, 10, BUZZ_NOT_EVEN);
+        assertScanStarts(2_000L);
+        // the gap below the cached range is scanned, then the cached matches are served and the scan resumes
+        long[] all = bruteForce(1_900L, 60, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1_900L, 60, BUZZ_NOT_EVEN);
+        assertScanStarts(1_900L, above[9] + 1L);
+        int fromInside = (int) Arrays.stream(all).filter(value -> value >= 1_950L).count();
+        assertSearch(cache, 1_950L, fromInside, BUZZ_NOT_EVEN);
+        assertScanStarts();
+    }
+
+    @Test
+    void adjacentRangesAreMerged() {
+        ResultCache cache = new ResultCache(1_000L);
+        long[] first = bruteForce(1_000L, 10, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1_000L, 10, BUZZ_NOT_EVEN);
+        assertSearch(cache, first[9] + 1L, 10, BUZZ_NOT_EVEN);
+        assertScanStarts(1_000L, first[9] + 1L);
+        assertSearch(cache, 1_000L, 20, BUZZ_NOT_EVEN);
+        assertScanStarts();
+        assertEquals("result cache: 1 hits, 2 misses, 1 filters, 20 matches", cache.report());
+    }
+
+    @Test
+    void filtersAreCachedApart() {
+        ResultCache cache = new ResultCache(1_000L);
+        assertSearch(cache, 1L, 10, ODD_SQUARE);
+        assertSearch(cache, 1L, 10, SUNNY);
+        assertScanStarts(1L, 1L);
+        assertSearch(cache, 1L, 10, ODD_SQUARE);
+        assertSearch(cache, 1L, 10, SUNNY);
+        assertScanStarts();
+        assertEquals("result cache: 2 hits, 2 misses, 2 filters, 20 matches", cache.report());
+    }
+
+    @Test
+    void leastRecentlyUsedFilterIsEvicted() {
+        ResultCache cache = new ResultCache(45L);
+        assertSearch(cache, 1L, 20, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1L, 20, ODD_SQUARE);
+        // BUZZ_NOT_EVEN is now used more recently than ODD_SQUARE
+        assertSearch(cache, 1L, 20, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1L, 20, SUNNY);
+        assertScanStarts(1L, 1L, 1L);
+        assertEquals("result cache: 1 hits, 3 misses, 2 filters, 40 matches", cache.report());
+        assertSearch(cache, 1L, 20, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1L, 20, SUNNY);
+        assertScanStarts();
+        assertSearch(cache, 1L, 20, ODD_SQUARE);
+        assertScanStarts(1L);
+    }
+
+    @Test
+    void searchWithMoreMatchesThanTheBudgetIsNotCached() {
+        ResultCache cache = new ResultCache(5L);
+        assertSearch(cache, 1L, 10, BUZZ_NOT_EVEN);
+        assertSearch(cache, 1L, 10, BUZZ_NOT_EVEN);
+        assertScanStarts(1L, 1L);
+        assertEquals("result cache: 0 hits, 2 misses, 0 filters, 0 matches", cache.report());
+    }
+}
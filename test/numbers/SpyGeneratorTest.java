@@ -0,0 +1,43 @@
+package numbers;
+
+import static numbers.GeneratorAssertions.assertListsExactly;
+import static numbers.GeneratorAssertions.firstListedFromRandomStarts;
+import static numbers.GeneratorAssertions.has;
+import static numbers.GeneratorAssertions.windowEnd;
+
+import org.junit.jupiter.api.Test;
+
+class SpyGeneratorTest {
+
+    private static void assertSpy(long start, long size) {
+        assertListsExactly(new SpyGenerator(start), start, windowEnd(start, size), has(Property.SPY));
+    }
+
+    @Test
+    void listsTheSpyNumbersFromTheFirstOne() {
+        assertSpy(0L, 2_000_000L);
+    }
+
+    @Test
+    void listsAcrossNewLengths() {
+        for (long start : new long[] {9L, 99L, 9_990L, 999_990L, 99_999_990L}) {
+            assertSpy(start, 20_000L);
+        }
+    }
+
+    @Test
+    void listsFromStartsInsideALength() {
+        for (long start : new long[] {1_124L, 11_111_112L, 111_111_111_111_111L}) {
+            assertSpy(Math.max(start - 5_000L, 0L), 10_000L);
+        }
+        for (long listed : firstListedFromRandomStarts(SpyGenerator::new, 100)) {
+            assertSpy(Math.max(listed - 5_000L, 0L), 10_000L);
+        }
+    }
+
+    @Test
+    void listsUpToTheLargestLong() {
+        assertSpy(Long.MAX_VALUE - 100_000L, 100_001L);
+        assertSpy(Long.MAX_VALUE, 1L);
+    }
+}
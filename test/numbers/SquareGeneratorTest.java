@@ -0,0 +1,57 @@
+package numbers;
+
+import static numbers.GeneratorAssertions.assertListsExactly;
+import static numbers.GeneratorAssertions.firstListedFromRandomStarts;
+import static numbers.GeneratorAssertions.has;
+import static numbers.GeneratorAssertions.windowEnd;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SquareGeneratorTest {
+
+    // the square of Number.MAX_ROOT
+    private static final long LARGEST_SQUARE = 9_223_372_030_926_249_001L;
+
+    private static void assertSquares(long start, long size) {
+        assertListsExactly(new SquareGenerator(start, 0L), start, windowEnd(start, size), has(Property.SQUARE));
+    }
+
+    private static void assertSunny(long start, long size) {
+        assertListsExactly(new SquareGenerator(start, 1L), start, windowEnd(start, size), has(Property.SUNNY));
+    }
+
+    @Test
+    void listsTheSquaresAndSunnyNumbersFromTheFirstOne() {
+        assertSquares(0L, 1_000_000L);
+        assertSunny(0L, 1_000_000L);
+    }
+
+    @Test
+    void listsFromStartsInsideALength() {
+        for (long start : new long[] {98L, 99_999L, 4_294_967_290L, 999_999_999_999_999_990L}) {
+            assertSquares(start, 100_000L);
+            assertSunny(start, 100_000L);
+        }
+        for (long listed : firstListedFromRandomStarts(start -> new SquareGenerator(start, 0L), 100)) {
+            assertSquares(Math.max(listed - 1L, 0L), 3L);
+            assertSunny(Math.max(listed - 2L, 0L), 3L);
+        }
+    }
+
+    @Test
+    void listsUpToTheLargestLong() {
+        assertSquares(LARGEST_SQUARE - 100_000L, 200_000L);
+        assertSunny(LARGEST_SQUARE - 100_000L, 200_000L);
+        assertSquares(Long.MAX_VALUE - 100_000L, 100_001L);
+        assertSquares(Long.MAX_VALUE, 1L);
+        assertSunny(Long.MAX_VALUE - 100_000L, 100_001L);
+        assertSunny(Long.MAX_VALUE, 1L);
+        SquareGenerator squares = new SquareGenerator(LARGEST_SQUARE, 0L);
+        assertEquals(LARGEST_SQUARE, squares.next());
+        assertEquals(CandidateGenerator.EXHAUSTED, squares.next());
+        SquareGenerator sunnyNumbers = new SquareGenerator(LARGEST_SQUARE - 1L, 1L);
+        assertEquals(LARGEST_SQUARE - 1L, sunnyNumbers.next());
+        assertEquals(CandidateGenerator.EXHAUSTED, sunnyNumbers.next());
+    }
+}
@@ -0,0 +1,116 @@
+package numbers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JDK 17 has compiled some vector mask operations wrongly, but only once C2 compiled
+ * evaluate with the profile of one filter. So the hot tests run each filter in a JVM
+ * of its own for well past the compilation before its results count.
+ */
+class VectorBlockEvaluatorTest {
+
+    // well past the invocations after which C2 compiles evaluate
+    private static final int HOT_BLOCKS = 200_000;
+    private static final int MIX_BLOCKS = 20_000;
+    private static final Property[] ARITHMETIC_PROPERTIES = {
+            Property.EVEN, Property.ODD, Property.BUZZ, Property.GAPFUL,
+    };
+
+    // the first block where the vector and the scalar evaluator differ or null
+    private static String findMismatch(int includedMask, int excludedMask, int blocks) {
+        BlockEvaluator vectorEvaluator = new VectorBlockEvaluator();
+        BlockEvaluator scalarEvaluator = new ScalarBlockEvaluator();
+        Random random = new Random(includedMask * 31L + excludedMask);
+        long base = 1_000_000_000L;
+        for (int ind = 0; ind < blocks; ++ind) {
+            // mostly consecutive blocks like a scan, with jumps to other lengths and leading digits
+            base = ind % 64 == 0 ? random.nextLong() >>> 1 + random.nextInt(62) : base + BlockEvaluator.BLOCK_SIZE;
+            base = Math.min(base, Long.MAX_VALUE - BlockEvaluator.BLOCK_SIZE);
+            long expected = scalarEvaluator.evaluate(base, includedMask, excludedMask);
+            long actual = vectorEvaluator.evaluate(base, includedMask, excludedMask);
+            if (actual != expected) {
+                return String.format("included %d, excluded %d, block %d at %d: %s instead of %s",
+                        includedMask, excludedMask, ind, base,
+                        Long.toBinaryString(actual), Long.toBinaryString(expected));
+            }
+        }
+        return null;
+    }
+
+    // the entry point of the JVM that runs one filter hot: included and excluded mask
+    public static void main(String[] args) {
+        String mismatch = findMismatch(Integer.parseInt(args[0]), Integer.parseInt(args[1]), HOT_BLOCKS);
+        System.out.print(mismatch == null ? "" : mismatch);
+    }
+
+    private static void assertSameAsScalarWhenHot(int includedMask, int excludedMask)
+            throws IOException, InterruptedException {
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Process process = new ProcessBuilder(java.toString(), "--add-modules", "jdk.incubator.vector",
+                "-cp", System.getProperty("java.class.path"), VectorBlockEvaluatorTest.class.getName(),
+                Integer.toString(includedMask), Integer.toString(excludedMask))
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        String mismatch = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(process.waitFor(2L, TimeUnit.MINUTES), "the JVM of the test didn't end");
+        assertEquals("", mismatch);
+        assertEquals(0, process.exitValue(), "the JVM of the test failed");
+    }
+
+    @Test
+    void isTheEvaluatorOfTheTests() {
+        assertInstanceOf(VectorBlockEvaluator.class, BlockEvaluator.create());
+    }
+
+    @Test
+    void matchesScalarForEachPropertyWhenHot() throws IOException, InterruptedException {
+        for (Property property : ARITHMETIC_PROPERTIES) {
+            assertSameAsScalarWhenHot(property.getMask(), 0);
+        }
+    }
+
+    @Test
+    void matchesScalarForEachNegatedPropertyWhenHot() throws IOException, InterruptedException {
+        for (Property property : ARITHMETIC_PROPERTIES) {
+            assertSameAsScalarWhenHot(0, property.getMask());
+        }
+    }
+
+    // a parity term together with BUZZ and GAPFUL, the shape of filter that was miscompiled
+    @Test
+    void matchesScalarForParityWithOtherTermsWhenHot() throws IOException, InterruptedException {
+        int otherTerms = Property.BUZZ.getMask() | Property.GAPFUL.getMask();
+        for (Property parity : new Property[] {Property.EVEN, Property.ODD}) {
+            assertSameAsScalarWhenHot(parity.getMask() | otherTerms, 0);
+            assertSameAsScalarWhenHot(otherTerms, parity.getMask());
+        }
+    }
+
+    // every way to leave out, include or exclude each property, in this JVM
+    @Test
+    void matchesScalarForEveryMixOfTerms() {
+        int mixes = (int) Math.pow(3, ARITHMETIC_PROPERTIES.length);
+        for (int terms = 1; terms < mixes; ++terms) {
+            int includedMask = 0;
+            int excludedMask = 0;
+            for (int ind = 0, rest = terms; ind < ARITHMETIC_PROPERTIES.length; ++ind, rest /= 3) {
+                if (rest % 3 == 1) {
+                    includedMask |= ARITHMETIC_PROPERTIES[ind].getMask();
+                } else if (rest % 3 == 2) {
+                    excludedMask |= ARITHMETIC_PROPERTIES[ind].getMask();
+                }
+            }
+            assertNull(findMismatch(includedMask, excludedMask, MIX_BLOCKS));
+        }
+    }
+}
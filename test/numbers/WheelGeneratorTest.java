@@ -0,0 +1,87 @@
+package numbers;
+
+import static numbers.GeneratorAssertions.assertListsExactly;
+import static numbers.GeneratorAssertions.has;
+import static numbers.GeneratorAssertions.windowEnd;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.function.LongPredicate;
+import org.junit.jupiter.api.Test;
+
+class WheelGeneratorTest {
+
+    private static final Property[] WHEEL_PROPERTIES = {Property.EVEN, Property.ODD, Property.BUZZ};
+
+    // every way to leave out, include or exclude each of EVEN, ODD and BUZZ
+    private static void assertWheels(long start, long size) {
+        for (int terms = 0; terms < 27; ++terms) {
+            int includedMask = 0;
+            int excludedMask = 0;
+            for (int ind = 0, rest = terms; ind < WHEEL_PROPERTIES.length; ++ind, rest /= 3) {
+                if (rest % 3 == 1) {
+                    includedMask |= WHEEL_PROPERTIES[ind].getMask();
+                } else if (rest % 3 == 2) {
+                    excludedMask |= WHEEL_PROPERTIES[ind].getMask();
+                }
+            }
+            assertListsExactly(new WheelGenerator(start, includedMask, excludedMask),
+                    start, windowEnd(start, size), passes(includedMask, excludedMask));
+        }
+    }
+
+    private static LongPredicate passes(int includedMask, int excludedMask) {
+        LongPredicate[] tests = new LongPredicate[WHEEL_PROPERTIES.length];
+        for (int ind = 0; ind < WHEEL_PROPERTIES.length; ++ind) {
+            tests[ind] = has(WHEEL_PROPERTIES[ind]);
+        }
+        return value -> {
+            for (int ind = 0; ind < WHEEL_PROPERTIES.length; ++ind) {
+                int mask = WHEEL_PROPERTIES[ind].getMask();
+                if ((includedMask & mask) != 0 && !tests[ind].test(value)
+                        || (excludedMask & mask) != 0 && tests[ind].test(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    @Test
+    void listsTheValuesThatPassEveryTerm() {
+        assertWheels(0L, 1_000L);
+    }
+
+    @Test
+    void listsAcrossNewLengths() {
+        for (long start : new long[] {1L, 69L, 95L, 99L, 995L, 999L, 9_990L, 999_999_999_950L}) {
+            assertWheels(start, 500L);
+        }
+    }
+
+    @Test
+    void listsUpToTheLargestLong() {
+        assertWheels(Long.MAX_VALUE - 1_000L, 1_001L);
+        assertWheels(Long.MAX_VALUE, 1L);
+    }
+
+    @Test
+    void listsFromRandomStarts() {
+        Random random = new Random(42L);
+        for (int ind = 0; ind < 100; ++ind) {
+            assertWheels(random.nextLong() >>> 1 + random.nextInt(62), 300L);
+        }
+    }
+
+    @Test
+    void densityIsTheShareOfListedValues() {
+        int included = Property.ODD.getMask();
+        int excluded = Property.BUZZ.getMask();
+        long listed = 0L;
+        WheelGenerator generator = new WheelGenerator(0L, included, excluded);
+        while (generator.next() < 7_000L) {
+            ++listed;
+        }
+        assertEquals(listed / 7_000.0, WheelGenerator.density(included, excluded), 1e-12);
+    }
+}